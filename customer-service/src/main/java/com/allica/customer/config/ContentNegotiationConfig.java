@@ -0,0 +1,31 @@
+package com.allica.customer.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+// Adds CBOR (application/cbor) as an opt-in response format via the Accept header.
+// JSON stays the default when the client does not ask for a specific type.
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    public static CBORMapper customerCborMapper() {
+        return CBORMapper.builder()
+                .addModule(new EpochDateModule())
+                .build();
+    }
+
+    @Bean
+    public JacksonCborHttpMessageConverter cborHttpMessageConverter() {
+        return new JacksonCborHttpMessageConverter(customerCborMapper());
+    }
+
+    @Override
+    public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+        configurer.defaultContentType(MediaType.APPLICATION_JSON, MediaType.ALL);
+    }
+}
@@ -0,0 +1,49 @@
+package com.allica.customer.config;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.deser.std.StdDeserializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Encodes dates as plain numbers for binary formats: LocalDate as epoch day and
+// LocalDateTime as epoch millis. Much cheaper to write and read than ISO strings.
+// Timestamps are local wall-clock times in the JVM's default zone, so they are converted
+// through ZoneId.systemDefault() in both directions to give the real instant.
+public class EpochDateModule extends SimpleModule {
+
+    public EpochDateModule() {
+        super("EpochDateModule");
+        addSerializer(LocalDate.class, new StdSerializer<>(LocalDate.class) {
+            @Override
+            public void serialize(LocalDate value, JsonGenerator gen, SerializationContext context) {
+                gen.writeNumber(value.toEpochDay());
+            }
+        });
+        addSerializer(LocalDateTime.class, new StdSerializer<>(LocalDateTime.class) {
+            @Override
+            public void serialize(LocalDateTime value, JsonGenerator gen, SerializationContext context) {
+                gen.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        });
+        addDeserializer(LocalDate.class, new StdDeserializer<>(LocalDate.class) {
+            @Override
+            public LocalDate deserialize(JsonParser parser, DeserializationContext context) {
+                return LocalDate.ofEpochDay(parser.getLongValue());
+            }
+        });
+        addDeserializer(LocalDateTime.class, new StdDeserializer<>(LocalDateTime.class) {
+            @Override
+            public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), ZoneId.systemDefault());
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.allica.customer.controller;
 
+import com.allica.customer.dto.CustomerField;
 import com.allica.customer.dto.CustomerRequestDTO;
 import com.allica.customer.dto.CustomerResponseDTO;
 import com.allica.customer.dto.CustomerPageResponse;
@@ -35,7 +36,9 @@ public class CustomerController {
             @RequestParam(name = "after", required = false) Long after,
             @RequestParam(required = false) Long before,
             @RequestParam(name = "pageSize", defaultValue = "20") @Min(1) @Max(100) int pageSize,
-            @RequestParam(defaultValue = "false") boolean includeTotal
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived
     ) {
         if (after != null && before != null) {
             throw new ResponseStatusException(
@@ -43,11 +46,15 @@ public class CustomerController {
                     "Specify only one of 'after' or 'before'."
             );
         }
-        return ResponseEntity.ok(service.getAllCustomers(after, before, pageSize, includeTotal));
+        return ResponseEntity.ok(service.getAllCustomers(
+                after, before, pageSize, includeTotal, CustomerField.parse(fields), includeArchived));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getCustomerById(id));
+    public ResponseEntity<CustomerResponseDTO> getCustomerById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields
+    ) {
+        return ResponseEntity.ok(service.getCustomerById(id, CustomerField.parse(fields)));
     }
 }
@@ -0,0 +1,22 @@
+package com.allica.customer.controller;
+
+import com.allica.customer.dto.CustomerDemographicsResponse;
+import com.allica.customer.service.CustomerDemographicsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/customers/aggregates")
+@RequiredArgsConstructor
+public class CustomerDemographicsController {
+
+    private final CustomerDemographicsService demographicsService;
+
+    @GetMapping
+    public ResponseEntity<CustomerDemographicsResponse> getDemographics() {
+        return ResponseEntity.ok(demographicsService.getDemographics());
+    }
+}
@@ -0,0 +1,25 @@
+package com.allica.customer.controller;
+
+import com.allica.customer.dto.CustomerHistoryDTO;
+import com.allica.customer.service.CustomerAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/customers/{id}/history")
+@RequiredArgsConstructor
+public class CustomerHistoryController {
+
+    private final CustomerAuditService auditService;
+
+    @GetMapping
+    public ResponseEntity<List<CustomerHistoryDTO>> getHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(auditService.getHistory(id));
+    }
+}
@@ -0,0 +1,36 @@
+package com.allica.customer.controller;
+
+import com.allica.customer.dto.CustomerField;
+import com.allica.customer.dto.SparseFieldsetResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Set;
+
+// Wraps customer responses requested with ?fields= so the serializer writes only the selected
+// properties. The controller has already validated the selection before the body gets here.
+@RestControllerAdvice(assignableTypes = CustomerController.class)
+public class SparseFieldsetAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        Set<CustomerField> fields = CustomerField.parse(servletRequest.getServletRequest().getParameter("fields"));
+        return fields == null ? body : new SparseFieldsetResponse(body, fields);
+    }
+}
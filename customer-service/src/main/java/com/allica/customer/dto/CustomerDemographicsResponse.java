@@ -0,0 +1,13 @@
+package com.allica.customer.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record CustomerDemographicsResponse(
+        long totalCount,
+        Map<Integer, Long> byBirthYear,
+        Map<String, Long> byAgeBand,
+        Map<String, Long> bySignupMonth,
+        LocalDateTime lastReconciledAt,
+        boolean stale
+) {}
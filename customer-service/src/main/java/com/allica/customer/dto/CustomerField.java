@@ -0,0 +1,55 @@
+package com.allica.customer.dto;
+
+import com.allica.customer.exception.InvalidFieldSelectionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Fields selectable via ?fields=. Names match both the CustomerResponseDTO property and
+// the Customer entity attribute, so a selection maps straight onto the query projection.
+public enum CustomerField {
+    ID("id"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    DATE_OF_BIRTH("dateOfBirth"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String fieldName;
+
+    CustomerField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    // Parses a comma-separated list such as "firstName,lastName". Returns null when no
+    // selection was made (all fields). The id is always included as it is the page cursor.
+    public static Set<CustomerField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<CustomerField> selected = EnumSet.of(ID);
+        List<String> unknown = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Arrays.stream(values())
+                    .filter(field -> field.fieldName.equals(trimmed))
+                    .findFirst()
+                    .ifPresentOrElse(selected::add, () -> unknown.add(trimmed));
+        }
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldSelectionException(unknown,
+                    Arrays.stream(values()).map(CustomerField::fieldName).toList());
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,14 @@
+package com.allica.customer.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record CustomerHistoryDTO(
+        Long customerId,
+        String eventType,
+        String firstName,
+        String lastName,
+        LocalDate dateOfBirth,
+        LocalDateTime occurredAt,
+        LocalDateTime recordedAt
+) {}
@@ -1,8 +1,13 @@
 package com.allica.customer.dto;
 
+import tools.jackson.databind.annotation.JsonSerialize;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// Serialized by CustomerResponseSerializer: every property, including nulls, unless the
+// response is a sparse fieldset (see SparseFieldsetResponse)
+@JsonSerialize(using = CustomerResponseSerializer.class)
 public record CustomerResponseDTO(
         Long id,
         String firstName,
@@ -0,0 +1,47 @@
+package com.allica.customer.dto;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.util.Set;
+
+// Writes a CustomerResponseDTO. Without a SELECTED_FIELDS attribute every property is written,
+// nulls included; with one, only the selected properties are. Values go through the context,
+// so format-specific modules (e.g. epoch dates for CBOR) still apply.
+public class CustomerResponseSerializer extends StdSerializer<CustomerResponseDTO> {
+
+    // Per-call serialization attribute holding the Set<CustomerField> of a sparse response
+    public static final Object SELECTED_FIELDS = CustomerResponseSerializer.class.getName() + ".selectedFields";
+
+    public CustomerResponseSerializer() {
+        super(CustomerResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(CustomerResponseDTO value, JsonGenerator gen, SerializationContext context) {
+        @SuppressWarnings("unchecked")
+        Set<CustomerField> fields = (Set<CustomerField>) context.getAttribute(SELECTED_FIELDS);
+        gen.writeStartObject(value);
+        write(fields, CustomerField.ID, value.id(), gen, context);
+        write(fields, CustomerField.FIRST_NAME, value.firstName(), gen, context);
+        write(fields, CustomerField.LAST_NAME, value.lastName(), gen, context);
+        write(fields, CustomerField.DATE_OF_BIRTH, value.dateOfBirth(), gen, context);
+        write(fields, CustomerField.CREATED_AT, value.createdAt(), gen, context);
+        write(fields, CustomerField.UPDATED_AT, value.updatedAt(), gen, context);
+        gen.writeEndObject();
+    }
+
+    private static void write(Set<CustomerField> fields, CustomerField field, Object value,
+                              JsonGenerator gen, SerializationContext context) {
+        if (fields != null && !fields.contains(field)) {
+            return;
+        }
+        gen.writeName(field.fieldName());
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            context.writeValue(gen, value);
+        }
+    }
+}
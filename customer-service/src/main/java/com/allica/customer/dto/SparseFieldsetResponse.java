@@ -0,0 +1,27 @@
+package com.allica.customer.dto;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.annotation.JsonSerialize;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.util.Set;
+
+// A response body restricted to a sparse fieldset (?fields=). The selection is handed to
+// CustomerResponseSerializer as a per-call attribute, so the DTOs themselves stay plain.
+@JsonSerialize(using = SparseFieldsetResponse.Serializer.class)
+public record SparseFieldsetResponse(Object body, Set<CustomerField> fields) {
+
+    public static class Serializer extends StdSerializer<SparseFieldsetResponse> {
+
+        public Serializer() {
+            super(SparseFieldsetResponse.class);
+        }
+
+        @Override
+        public void serialize(SparseFieldsetResponse value, JsonGenerator gen, SerializationContext context) {
+            context.setAttribute(CustomerResponseSerializer.SELECTED_FIELDS, value.fields());
+            context.writeValue(gen, value.body());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.allica.customer.durability;
+
+import com.allica.customer.sharding.CustomerShardRouter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Writes snapshot and change-log records into the customer tables with plain JDBC batches,
+// one transaction per batch and shard. Snapshot rows are inserted; replayed log entries are
+// applied with H2's MERGE ... KEY, since a row may already be in the snapshot.
+public class CustomerBulkLoader {
+
+    private static final String COLUMNS = "id, first_name, last_name, date_of_birth, created_at, updated_at";
+    private static final String INSERT_HOT =
+            "insert into customers (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ARCHIVED =
+            "insert into archived_customers (" + COLUMNS + ", archived_at) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String MERGE_HOT =
+            "merge into customers (" + COLUMNS + ") key (id) values (?, ?, ?, ?, ?, ?)";
+    private static final String MERGE_ARCHIVED =
+            "merge into archived_customers (" + COLUMNS + ", archived_at) key (id) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String ARCHIVE_FROM_HOT =
+            "merge into archived_customers (" + COLUMNS + ", archived_at) key (id) select " + COLUMNS
+                    + ", ? from customers where id = ?";
+    private static final String DELETE_HOT = "delete from customers where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShardRouter shardRouter;
+    private final int batchSize;
+    // Pending statements per shard, in the order they were added
+    private final Map<Integer, Map<String, List<Object[]>>> pending = new LinkedHashMap<>();
+    private long loaded;
+
+    public CustomerBulkLoader(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              CustomerShardRouter shardRouter, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    // Snapshot row into an empty table
+    public void insert(CustomerRecord record) {
+        add(record.id(), record.archived() ? INSERT_ARCHIVED : INSERT_HOT, parameters(record));
+    }
+
+    // Change-log row that may already exist
+    public void upsert(CustomerRecord record) {
+        add(record.id(), record.archived() ? MERGE_ARCHIVED : MERGE_HOT, parameters(record));
+    }
+
+    // Change-log archive move; earlier entries for the shard are written first so the row exists
+    public void archive(long id, LocalDateTime archivedAt) {
+        int shard = shardRouter.shardFor(id);
+        flush(shard);
+        shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+            jdbcTemplate.update(ARCHIVE_FROM_HOT, archivedAt, id);
+            return jdbcTemplate.update(DELETE_HOT, id);
+        }));
+        loaded++;
+    }
+
+    public void flush() {
+        for (Integer shard : List.copyOf(pending.keySet())) {
+            flush(shard);
+        }
+    }
+
+    // Rows written so far
+    public long loaded() {
+        return loaded;
+    }
+
+    private void add(long id, String sql, Object[] parameters) {
+        int shard = shardRouter.shardFor(id);
+        Map<String, List<Object[]>> statements = pending.computeIfAbsent(shard, key -> new LinkedHashMap<>());
+        List<Object[]> rows = statements.computeIfAbsent(sql, key -> new ArrayList<>(batchSize));
+        rows.add(parameters);
+        if (rows.size() >= batchSize) {
+            flush(shard);
+        }
+    }
+
+    private void flush(int shard) {
+        Map<String, List<Object[]>> statements = pending.remove(shard);
+        if (statements == null) {
+            return;
+        }
+        shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+            statements.forEach((sql, rows) -> jdbcTemplate.batchUpdate(sql, rows));
+            return null;
+        }));
+        statements.values().forEach(rows -> loaded += rows.size());
+    }
+
+    private static Object[] parameters(CustomerRecord record) {
+        return record.archived()
+                ? new Object[]{record.id(), record.firstName(), record.lastName(), record.dateOfBirth(),
+                        record.createdAt(), record.updatedAt(), record.archivedAt()}
+                : new Object[]{record.id(), record.firstName(), record.lastName(), record.dateOfBirth(),
+                        record.createdAt(), record.updatedAt()};
+    }
+}
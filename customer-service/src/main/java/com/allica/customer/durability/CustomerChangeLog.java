@@ -0,0 +1,270 @@
+package com.allica.customer.durability;
+
+import com.allica.customer.entity.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.stream.Stream;
+
+// Append-only log of customer changes since the last snapshot, split into numbered
+// segments: a snapshot rotates to a new segment and then makes every older one obsolete.
+// Each entry is length (4) | CRC32 (4) | type (1) | payload, where the length and checksum
+// cover type and payload. A bad final entry, or one followed only by zeros (a file the
+// crash extended without writing), is a torn write and is dropped on replay; a bad entry
+// with valid data after it is corruption and fails the replay. A no-op unless
+// app.durability.enabled=true.
+@Slf4j
+public class CustomerChangeLog implements DisposableBean {
+
+    static final byte SAVED = 1;
+    static final byte ARCHIVED = 2;
+
+    private static final int HEADER_BYTES = 8;
+    private static final Pattern NAME = Pattern.compile("changes-(\\d+)\\.log");
+
+    private final boolean enabled;
+    private final Path directory;
+    private final boolean syncWrites;
+    private final Timer appendTimer;
+
+    private FileChannel channel;
+    private long segment;
+    // Until the snapshot service has loaded the data, new writes would land in tables the
+    // restore expects to be empty, so writers and the archive job check this first
+    private volatile boolean awaitingRestore;
+
+    public CustomerChangeLog(DurabilityProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.directory = properties.directory();
+        this.syncWrites = properties.syncWrites();
+        this.appendTimer = Timer.builder("customers.durability.log.append")
+                .description("Change-log appends, including the fsync when app.durability.sync-writes is on")
+                .register(meterRegistry);
+        this.awaitingRestore = enabled;
+        if (enabled) {
+            long newest = Math.max(
+                    segments(directory).stream().mapToLong(CustomerChangeLog::segmentOf).max().orElse(0),
+                    CustomerSnapshotFile.latest(directory).map(CustomerSnapshotFile::lastSegmentOf).orElse(0L));
+            open(newest + 1);
+        }
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public boolean awaitingRestore() {
+        return awaitingRestore;
+    }
+
+    void markRestored() {
+        awaitingRestore = false;
+    }
+
+    // Called after the customer's transaction has committed
+    public void recordSaved(Customer customer) {
+        if (!enabled || customer == null) {
+            return;
+        }
+        ByteBuffer entry = ByteBuffer.allocate(HEADER_BYTES + 1 + CustomerRecordCodec.MAX_RECORD_BYTES);
+        entry.position(HEADER_BYTES);
+        entry.put(SAVED);
+        CustomerRecordCodec.write(entry, CustomerRecord.of(customer));
+        append(entry);
+    }
+
+    // Called after a batch of customers has been moved to the archive tier
+    public void recordArchived(List<Long> ids, LocalDateTime archivedAt) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        ByteBuffer entry = ByteBuffer.allocate(HEADER_BYTES + 1 + 8 + 4 + 8 * ids.size());
+        entry.position(HEADER_BYTES);
+        entry.put(ARCHIVED);
+        entry.putLong(CustomerRecordCodec.toMicros(archivedAt));
+        entry.putInt(ids.size());
+        ids.forEach(entry::putLong);
+        append(entry);
+    }
+
+    // The segment currently being appended to
+    public synchronized long currentSegment() {
+        return segment;
+    }
+
+    // Starts a new segment and returns the number of the one just closed
+    public synchronized long rotate() {
+        long closed = segment;
+        close();
+        open(closed + 1);
+        return closed;
+    }
+
+    // Segments in (afterSegment, beforeSegment), oldest first
+    public List<Path> segmentsBetween(long afterSegment, long beforeSegment) {
+        return segments(directory).stream()
+                .filter(file -> segmentOf(file) > afterSegment && segmentOf(file) < beforeSegment)
+                .toList();
+    }
+
+    public void deleteThrough(long lastSegment) throws IOException {
+        for (Path file : segments(directory)) {
+            if (segmentOf(file) <= lastSegment) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Replays one segment through the visitor; returns the number of entries applied
+    public static long replay(Path segmentFile, Visitor visitor) throws IOException {
+        long entries = 0;
+        try (MappedFileReader reader = new MappedFileReader(segmentFile)) {
+            while (reader.position() < reader.size()) {
+                long offset = reader.position();
+                ByteBuffer header = reader.require(HEADER_BYTES);
+                int length = header != null ? header.getInt() : 0;
+                int checksum = header != null ? header.getInt() : 0;
+                ByteBuffer buffer = length > 0 ? reader.require(length) : null;
+                if (buffer == null || checksum != checksum(buffer, buffer.position(), length)) {
+                    // A torn write is always last: it runs past the end, or only zeros follow it
+                    boolean torn = header == null
+                            || length > 0 && buffer == null
+                            || zeroFilledFrom(segmentFile, length > 0 ? reader.position() + length : offset);
+                    if (!torn) {
+                        throw new IOException("Corrupt change-log entry at offset " + offset + " of " + segmentFile);
+                    }
+                    log.warn("Ignoring torn entry at offset {} of {}", offset, segmentFile);
+                    break;
+                }
+                int end = buffer.position() + length;
+                byte type = buffer.get();
+                if (type == SAVED) {
+                    visitor.saved(CustomerRecordCodec.read(buffer));
+                } else if (type == ARCHIVED) {
+                    LocalDateTime archivedAt = CustomerRecordCodec.fromMicros(buffer.getLong());
+                    int count = buffer.getInt();
+                    for (int i = 0; i < count; i++) {
+                        visitor.archived(buffer.getLong(), archivedAt);
+                    }
+                } else {
+                    throw new IOException("Unknown change-log entry type " + type + " in " + segmentFile);
+                }
+                buffer.position(end);
+                entries++;
+            }
+        }
+        return entries;
+    }
+
+    private synchronized void append(ByteBuffer entry) {
+        long started = System.nanoTime();
+        int length = entry.position() - HEADER_BYTES;
+        entry.putInt(0, length);
+        entry.putInt(4, checksum(entry, HEADER_BYTES, length));
+        entry.flip();
+        try {
+            while (entry.hasRemaining()) {
+                channel.write(entry);
+            }
+            if (syncWrites) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append to change log segment " + segment, ex);
+        }
+        appendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private static int checksum(ByteBuffer buffer, int from, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(from + length).position(from));
+        return (int) crc.getValue();
+    }
+
+    // True if the file holds nothing but zero bytes from offset to its end
+    private static boolean zeroFilledFrom(Path file, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+            channel.position(offset);
+            while (channel.read(chunk.clear()) > 0) {
+                chunk.flip();
+                while (chunk.hasRemaining()) {
+                    if (chunk.get() != 0) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    private void open(long newSegment) {
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve(String.format("changes-%019d.log", newSegment)),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            segment = newSegment;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open change log in " + directory, ex);
+        }
+    }
+
+    private void close() {
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not close change log segment " + segment, ex);
+        }
+    }
+
+    private static List<Path> segments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(CustomerChangeLog::segmentOf))
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static long segmentOf(Path file) {
+        Matcher matcher = NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a change-log segment: " + file);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (enabled && channel != null) {
+            close();
+        }
+    }
+
+    public interface Visitor {
+        void saved(CustomerRecord record);
+
+        void archived(long id, LocalDateTime archivedAt);
+    }
+}
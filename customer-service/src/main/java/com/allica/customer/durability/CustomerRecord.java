@@ -0,0 +1,34 @@
+package com.allica.customer.durability;
+
+import com.allica.customer.entity.Customer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One customer row as stored in snapshots and the change log; archivedAt != null means
+// the row lives in archived_customers
+public record CustomerRecord(
+        long id,
+        String firstName,
+        String lastName,
+        LocalDate dateOfBirth,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime archivedAt
+) {
+    public static CustomerRecord of(Customer customer) {
+        return new CustomerRecord(
+                customer.getId(),
+                customer.getFirstName(),
+                customer.getLastName(),
+                customer.getDateOfBirth(),
+                customer.getCreatedAt(),
+                customer.getUpdatedAt(),
+                null
+        );
+    }
+
+    public boolean archived() {
+        return archivedAt != null;
+    }
+}
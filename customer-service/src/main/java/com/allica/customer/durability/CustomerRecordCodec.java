@@ -0,0 +1,78 @@
+package com.allica.customer.durability;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Fixed binary layout shared by snapshots and the change log:
+//   id (8) | createdAt (8) | updatedAt (8) | archivedAt (8) | dateOfBirth (4) | firstName | lastName
+// Timestamps are UTC epoch microseconds, the date is an epoch day, strings are a 2-byte
+// length plus UTF-8 bytes. Nulls are stored as the type's MIN_VALUE (-1 length for strings).
+final class CustomerRecordCodec {
+
+    // Names are VARCHAR(255): at most 255 chars of up to 3 UTF-8 bytes each
+    static final int MAX_RECORD_BYTES = 4 * 8 + 4 + 2 * (2 + 255 * 3);
+
+    private CustomerRecordCodec() {
+    }
+
+    static void write(ByteBuffer buffer, CustomerRecord record) {
+        buffer.putLong(record.id());
+        buffer.putLong(toMicros(record.createdAt()));
+        buffer.putLong(toMicros(record.updatedAt()));
+        buffer.putLong(toMicros(record.archivedAt()));
+        buffer.putInt(record.dateOfBirth() != null ? (int) record.dateOfBirth().toEpochDay() : Integer.MIN_VALUE);
+        writeString(buffer, record.firstName());
+        writeString(buffer, record.lastName());
+    }
+
+    static CustomerRecord read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        LocalDateTime createdAt = fromMicros(buffer.getLong());
+        LocalDateTime updatedAt = fromMicros(buffer.getLong());
+        LocalDateTime archivedAt = fromMicros(buffer.getLong());
+        int epochDay = buffer.getInt();
+        String firstName = readString(buffer);
+        String lastName = readString(buffer);
+        return new CustomerRecord(id, firstName, lastName,
+                epochDay != Integer.MIN_VALUE ? LocalDate.ofEpochDay(epochDay) : null,
+                createdAt, updatedAt, archivedAt);
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return Long.MIN_VALUE;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static void writeString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,157 @@
+package com.allica.customer.durability;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Compact binary snapshot of every customer in both tiers:
+//   magic (4) | version (4) | last change-log segment covered (8) | record count (8) | records...
+// A snapshot is written to a temporary file and renamed into place once complete, so any
+// snapshot-<segment>.bin on disk is whole.
+public final class CustomerSnapshotFile {
+
+    private static final int MAGIC = 0x43534E50; // "CSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final Pattern NAME = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    private CustomerSnapshotFile() {
+    }
+
+    public static Path path(Path directory, long lastSegment) {
+        return directory.resolve(String.format("snapshot-%019d.bin", lastSegment));
+    }
+
+    // Change-log segments up to and including the returned one are contained in this snapshot
+    public static long lastSegmentOf(Path snapshot) {
+        Matcher matcher = NAME.matcher(snapshot.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a snapshot file: " + snapshot);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    public static List<Path> list(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(CustomerSnapshotFile::lastSegmentOf))
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static Optional<Path> latest(Path directory) {
+        List<Path> snapshots = list(directory);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    // Streams every record of the snapshot through a memory-mapped view; returns the record count
+    public static long read(Path snapshot, Consumer<CustomerRecord> consumer) throws IOException {
+        try (MappedFileReader reader = new MappedFileReader(snapshot)) {
+            ByteBuffer header = reader.require(HEADER_BYTES);
+            if (header == null || header.getInt() != MAGIC) {
+                throw new IOException("Not a customer snapshot: " + snapshot);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + snapshot);
+            }
+            header.getLong();
+            long count = header.getLong();
+            for (long i = 0; i < count; i++) {
+                ByteBuffer buffer = reader.requireUpTo(CustomerRecordCodec.MAX_RECORD_BYTES);
+                consumer.accept(CustomerRecordCodec.read(buffer));
+            }
+            return count;
+        }
+    }
+
+    public static Writer writer(Path directory, long lastSegment) throws IOException {
+        return new Writer(directory, lastSegment);
+    }
+
+    public static final class Writer implements AutoCloseable {
+
+        private final Path target;
+        private final Path temporary;
+        private final long lastSegment;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        private long count;
+        private boolean committed;
+
+        private Writer(Path directory, long lastSegment) throws IOException {
+            Files.createDirectories(directory);
+            this.target = path(directory, lastSegment);
+            this.temporary = directory.resolve(target.getFileName() + ".tmp");
+            this.lastSegment = lastSegment;
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.position(HEADER_BYTES); // header is written last, once the count is known
+        }
+
+        public void write(CustomerRecord record) throws IOException {
+            if (buffer.remaining() < CustomerRecordCodec.MAX_RECORD_BYTES) {
+                flush();
+            }
+            CustomerRecordCodec.write(buffer, record);
+            count++;
+        }
+
+        // Makes the snapshot durable and visible under its final name; returns its path
+        public Path commit() throws IOException {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(lastSegment)
+                    .putLong(count)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, HEADER_BYTES - header.remaining());
+            }
+            channel.force(true);
+            channel.close();
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+            return target;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.allica.customer.durability;
+
+import com.allica.customer.sharding.CustomerShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Durable fast-restart mode for the in-memory database. Periodically writes a binary
+// snapshot of both customer tiers; CustomerChangeLog records every change made since.
+// On startup the latest snapshot is bulk-loaded through a memory-mapped file and the
+// newer log segments are replayed. This runs as an ApplicationRunner, and Spring Boot only
+// reports readiness (ACCEPTING_TRAFFIC) once all runners have finished. Until then writes
+// are refused and the archive job is skipped (see CustomerChangeLog.awaitingRestore).
+@Slf4j
+public class CustomerSnapshotService implements ApplicationRunner, DisposableBean {
+
+    private static final String SCAN_HOT =
+            "select id, first_name, last_name, date_of_birth, created_at, updated_at from customers "
+                    + "where id > ? order by id limit ?";
+    private static final String SCAN_ARCHIVED =
+            "select id, first_name, last_name, date_of_birth, created_at, updated_at, archived_at "
+                    + "from archived_customers where id > ? order by id limit ?";
+
+    private final DurabilityProperties properties;
+    private final CustomerChangeLog changeLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Timer restoreTimer;
+    private final Timer snapshotTimer;
+
+    private volatile boolean restored;
+
+    public CustomerSnapshotService(DurabilityProperties properties,
+                                   CustomerChangeLog changeLog,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   CustomerShardRouter shardRouter,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.changeLog = changeLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+
+        this.restoreTimer = Timer.builder("customers.durability.restore")
+                .description("Startup load of the latest snapshot plus change-log replay").register(meterRegistry);
+        this.snapshotTimer = Timer.builder("customers.durability.snapshot").register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        restore();
+        changeLog.markRestored();
+        restored = true;
+    }
+
+    public boolean restored() {
+        return restored;
+    }
+
+    // Returns the number of rows and log entries applied
+    public long restore() throws IOException {
+        if (!tablesEmpty()) {
+            log.warn("Customer tables already contain data; skipping restore from {}", properties.directory());
+            return 0;
+        }
+        long started = System.nanoTime();
+        CustomerBulkLoader loader = new CustomerBulkLoader(
+                jdbcTemplate, transactionTemplate, shardRouter, properties.loadBatchSize());
+
+        Optional<Path> snapshot = CustomerSnapshotFile.latest(properties.directory());
+        long covered = snapshot.map(CustomerSnapshotFile::lastSegmentOf).orElse(0L);
+        long snapshotRows = snapshot.isPresent() ? CustomerSnapshotFile.read(snapshot.get(), loader::insert) : 0;
+        loader.flush();
+        long loadedAt = System.nanoTime();
+
+        CustomerChangeLog.Visitor replay = new CustomerChangeLog.Visitor() {
+            @Override
+            public void saved(CustomerRecord record) {
+                loader.upsert(record);
+            }
+
+            @Override
+            public void archived(long id, LocalDateTime archivedAt) {
+                loader.archive(id, archivedAt);
+            }
+        };
+        long logEntries = 0;
+        List<Path> segments = changeLog.segmentsBetween(covered, changeLog.currentSegment());
+        for (Path segment : segments) {
+            logEntries += CustomerChangeLog.replay(segment, replay);
+        }
+        loader.flush();
+
+        long elapsed = System.nanoTime() - started;
+        restoreTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Restored {} customers from {} in {} ms, then replayed {} change-log entries from {} segments in {} ms",
+                snapshotRows, snapshot.map(Path::getFileName).orElse(null),
+                TimeUnit.NANOSECONDS.toMillis(loadedAt - started), logEntries, segments.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadedAt));
+        return snapshotRows + logEntries;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.durability.snapshot-interval:PT5M}",
+            initialDelayString = "${app.durability.snapshot-interval:PT5M}"
+    )
+    public void scheduledSnapshot() {
+        if (restored) {
+            snapshot();
+        }
+    }
+
+    // Changes logged after the rotation may or may not be in the snapshot; replaying them
+    // again on restore is harmless because log entries are idempotent.
+    public synchronized Path snapshot() {
+        long started = System.nanoTime();
+        long covered = changeLog.rotate();
+        try {
+            Path written;
+            long rows;
+            try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.writer(properties.directory(), covered)) {
+                for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                    shardRouter.onShard(shard, () -> {
+                        scan(SCAN_HOT, false, writer);
+                        scan(SCAN_ARCHIVED, true, writer);
+                        return null;
+                    });
+                }
+                rows = writer.count();
+                written = writer.commit();
+            }
+            for (Path older : CustomerSnapshotFile.list(properties.directory())) {
+                if (!older.equals(written)) {
+                    Files.deleteIfExists(older);
+                }
+            }
+            changeLog.deleteThrough(covered);
+
+            long elapsed = System.nanoTime() - started;
+            snapshotTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Wrote snapshot {} with {} customers ({} KB) in {} ms", written.getFileName(), rows,
+                    Files.size(written) / 1024, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return written;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write customer snapshot to " + properties.directory(), ex);
+        }
+    }
+
+    // Keyset scan of one table on the current shard, streamed into the snapshot
+    private void scan(String sql, boolean archived, CustomerSnapshotFile.Writer writer) {
+        long after = Long.MIN_VALUE;
+        int batch;
+        do {
+            List<CustomerRecord> rows = jdbcTemplate.query(sql, (rs, rowNum) -> new CustomerRecord(
+                    rs.getLong(1),
+                    rs.getString(2),
+                    rs.getString(3),
+                    rs.getObject(4, LocalDate.class),
+                    rs.getObject(5, LocalDateTime.class),
+                    rs.getObject(6, LocalDateTime.class),
+                    archived ? rs.getObject(7, LocalDateTime.class) : null
+            ), after, properties.loadBatchSize());
+            for (CustomerRecord row : rows) {
+                try {
+                    writer.write(row);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            batch = rows.size();
+            if (batch > 0) {
+                after = rows.get(batch - 1).id();
+            }
+        } while (batch == properties.loadBatchSize());
+    }
+
+    private boolean tablesEmpty() {
+        return shardRouter.onAllShards(() ->
+                jdbcTemplate.queryForObject("select count(*) from customers", Long.class)
+                        + jdbcTemplate.queryForObject("select count(*) from archived_customers", Long.class)
+        ).stream().allMatch(count -> count == 0);
+    }
+
+    @Override
+    public void destroy() {
+        if (restored && properties.snapshotOnShutdown()) {
+            snapshot();
+        }
+    }
+}
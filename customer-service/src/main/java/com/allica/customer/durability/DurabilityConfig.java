@@ -0,0 +1,67 @@
+package com.allica.customer.durability;
+
+import com.allica.customer.sharding.CustomerShardRouter;
+import com.allica.customer.sharding.ShardingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+@Configuration
+@EnableConfigurationProperties(DurabilityProperties.class)
+public class DurabilityConfig {
+
+    // Always present so writers can call it; does nothing unless durability is enabled
+    @Bean
+    public CustomerChangeLog customerChangeLog(DurabilityProperties properties, MeterRegistry meterRegistry) {
+        return new CustomerChangeLog(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.durability.enabled", havingValue = "true")
+    public CustomerSnapshotService customerSnapshotService(DurabilityProperties properties,
+                                                           CustomerChangeLog changeLog,
+                                                           JdbcTemplate jdbcTemplate,
+                                                           TransactionTemplate transactionTemplate,
+                                                           CustomerShardRouter shardRouter,
+                                                           ApplicationEventPublisher eventPublisher,
+                                                           MeterRegistry meterRegistry,
+                                                           ShardingProperties shardingProperties,
+                                                           @Value("${spring.datasource.url:}") String datasourceUrl,
+                                                           @Value("${app.audit.enabled:true}") boolean auditEnabled) {
+        // Snapshots and the change log only cover the customer tiers, so audit history would
+        // silently disappear on every restart
+        if (auditEnabled) {
+            throw new IllegalStateException("app.durability.enabled=true does not persist the audit tables "
+                    + "(customer_outbox, customer_history); set app.audit.enabled=false to use durable mode");
+        }
+        if (properties.snapshotOnShutdown()) {
+            List<String> urls = shardingProperties.enabled()
+                    ? shardingProperties.shards().stream().map(ShardingProperties.Shard::url).toList()
+                    : List.of(datasourceUrl);
+            urls.forEach(DurabilityConfig::requireOpenOnExit);
+        }
+        return new CustomerSnapshotService(properties, changeLog, jdbcTemplate, transactionTemplate,
+                shardRouter, eventPublisher, meterRegistry);
+    }
+
+    // H2 closes an in-memory database from its own JVM shutdown hook, which can run before the
+    // shutdown snapshot is written. An empty URL is Spring Boot's embedded default, which
+    // already sets DB_CLOSE_ON_EXIT=FALSE.
+    static void requireOpenOnExit(String url) {
+        if (url != null && url.startsWith("jdbc:h2:mem:")
+                && !url.toUpperCase(Locale.ROOT).contains(";DB_CLOSE_ON_EXIT=FALSE")) {
+            throw new IllegalStateException("app.durability.snapshot-on-shutdown=true needs " + url
+                    + " to keep the in-memory database open until the snapshot is written; "
+                    + "add ;DB_CLOSE_ON_EXIT=FALSE to the URL");
+        }
+    }
+}
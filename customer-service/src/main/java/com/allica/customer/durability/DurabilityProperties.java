@@ -0,0 +1,24 @@
+package com.allica.customer.durability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.durability")
+public record DurabilityProperties(
+        boolean enabled,
+        Path directory,
+        Duration snapshotInterval,
+        Boolean syncWrites,
+        Boolean snapshotOnShutdown,
+        int loadBatchSize
+) {
+    public DurabilityProperties {
+        directory = directory != null ? directory : Path.of("data");
+        snapshotInterval = snapshotInterval != null ? snapshotInterval : Duration.ofMinutes(5);
+        syncWrites = syncWrites == null || syncWrites;
+        snapshotOnShutdown = snapshotOnShutdown == null || snapshotOnShutdown;
+        loadBatchSize = loadBatchSize > 0 ? loadBatchSize : 10_000;
+    }
+}
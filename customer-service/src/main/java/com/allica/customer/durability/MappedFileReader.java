@@ -0,0 +1,63 @@
+package com.allica.customer.durability;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Sequential reader over a memory-mapped file. The file is mapped in windows (a single
+// mapping is limited to 2 GB) and the window is moved forward whenever the caller needs
+// more contiguous bytes than are left in it.
+final class MappedFileReader implements AutoCloseable {
+
+    private static final long WINDOW_BYTES = 256L << 20;
+
+    private final FileChannel channel;
+    private final long size;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    MappedFileReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        map(0);
+    }
+
+    long position() {
+        return windowStart + window.position();
+    }
+
+    long size() {
+        return size;
+    }
+
+    // The current window with at least `bytes` readable, or null if the file ends sooner
+    ByteBuffer require(int bytes) throws IOException {
+        if (window.remaining() >= bytes) {
+            return window;
+        }
+        long position = position();
+        if (position + bytes > size) {
+            return null;
+        }
+        map(position);
+        return window;
+    }
+
+    // Like require, but settles for whatever is left at the end of the file
+    ByteBuffer requireUpTo(int bytes) throws IOException {
+        return require((int) Math.min(bytes, size - position()));
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_BYTES, size - position));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
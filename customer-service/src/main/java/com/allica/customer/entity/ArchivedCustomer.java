@@ -0,0 +1,32 @@
+package com.allica.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Cold tier: customers moved out of "customers" after a period of inactivity.
+// Keeps the original id so lookups and cursors work across both tiers.
+@Entity
+@Table(name = "archived_customers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedCustomer {
+
+    @Id
+    private Long id;
+
+    private String firstName;
+    private String lastName;
+    private LocalDate dateOfBirth;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime archivedAt;
+}
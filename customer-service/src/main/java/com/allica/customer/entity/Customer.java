@@ -1,5 +1,6 @@
 package com.allica.customer.entity;
 
+import com.allica.customer.sharding.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     private String firstName;
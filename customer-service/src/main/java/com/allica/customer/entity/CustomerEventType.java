@@ -0,0 +1,5 @@
+package com.allica.customer.entity;
+
+public enum CustomerEventType {
+    CREATED
+}
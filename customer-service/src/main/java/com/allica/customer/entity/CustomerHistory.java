@@ -0,0 +1,41 @@
+package com.allica.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Append-only audit history of customer changes
+@Entity
+@Table(name = "customer_history", indexes = @Index(name = "idx_customer_history_customer", columnList = "customerId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 20)
+    private CustomerEventType eventType;
+
+    @Column(updatable = false)
+    private String firstName;
+
+    @Column(updatable = false)
+    private String lastName;
+
+    @Column(updatable = false)
+    private LocalDate dateOfBirth;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,35 @@
+package com.allica.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Transactional outbox row, written in the same transaction as the customer change and
+// drained into customer_history by CustomerAuditRelay. Holds a snapshot of the audited
+// columns so the relay never has to read back the customer.
+@Entity
+@Table(name = "customer_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CustomerEventType eventType;
+
+    private String firstName;
+    private String lastName;
+    private LocalDate dateOfBirth;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
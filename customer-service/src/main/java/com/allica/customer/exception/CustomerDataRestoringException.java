@@ -0,0 +1,11 @@
+package com.allica.customer.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Customer data is still being restored")
+public class CustomerDataRestoringException extends RuntimeException {
+    public CustomerDataRestoringException() {
+        super("Customer data is still being restored from the last snapshot");
+    }
+}
@@ -39,6 +39,14 @@ public class GlobalExceptionHandler {
     }
 
 
+    // Handle unknown names in a sparse fieldset (?fields=)
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidFields(InvalidFieldSelectionException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("fields", ex.getMessage() + ". Allowed: " + String.join(", ", ex.getAllowedFields()));
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid field selection", errors);
+    }
+
     // Handle ResponseStatusException (use status from exception)
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<Map<String, Object>> handleResponseStatus(ResponseStatusException ex) {
@@ -0,0 +1,17 @@
+package com.allica.customer.exception;
+
+import java.util.List;
+
+public class InvalidFieldSelectionException extends RuntimeException {
+
+    private final List<String> allowedFields;
+
+    public InvalidFieldSelectionException(List<String> unknownFields, List<String> allowedFields) {
+        super("Unknown field(s): " + String.join(", ", unknownFields));
+        this.allowedFields = List.copyOf(allowedFields);
+    }
+
+    public List<String> getAllowedFields() {
+        return allowedFields;
+    }
+}
@@ -1,10 +1,19 @@
 package com.allica.customer.mapper;
 
+import com.allica.customer.dto.CustomerField;
+import com.allica.customer.dto.CustomerHistoryDTO;
 import com.allica.customer.dto.CustomerRequestDTO;
 import com.allica.customer.dto.CustomerResponseDTO;
+import com.allica.customer.entity.ArchivedCustomer;
 import com.allica.customer.entity.Customer;
+import com.allica.customer.entity.CustomerHistory;
+import jakarta.persistence.Tuple;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
 @Component
 public class CustomerMapper {
 
@@ -20,6 +29,57 @@ public class CustomerMapper {
         );
     }
 
+    public CustomerResponseDTO fromArchive(ArchivedCustomer entity) {
+        if (entity == null) return null;
+        return new CustomerResponseDTO(
+                entity.getId(),
+                entity.getFirstName(),
+                entity.getLastName(),
+                entity.getDateOfBirth(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt()
+        );
+    }
+
+    // Applies a sparse fieldset to an already loaded DTO (fields == null keeps everything)
+    public CustomerResponseDTO restrict(CustomerResponseDTO dto, Set<CustomerField> fields) {
+        if (dto == null || fields == null) return dto;
+        return new CustomerResponseDTO(
+                dto.id(),
+                fields.contains(CustomerField.FIRST_NAME) ? dto.firstName() : null,
+                fields.contains(CustomerField.LAST_NAME) ? dto.lastName() : null,
+                fields.contains(CustomerField.DATE_OF_BIRTH) ? dto.dateOfBirth() : null,
+                fields.contains(CustomerField.CREATED_AT) ? dto.createdAt() : null,
+                fields.contains(CustomerField.UPDATED_AT) ? dto.updatedAt() : null
+        );
+    }
+
+    // Sparse fieldset row: fields that were not selected stay null and are omitted from the response
+    public CustomerResponseDTO toDto(Tuple tuple, Set<CustomerField> fields) {
+        if (tuple == null) return null;
+        return new CustomerResponseDTO(
+                tuple.get(CustomerField.ID.fieldName(), Long.class),
+                valueOf(tuple, fields, CustomerField.FIRST_NAME, String.class),
+                valueOf(tuple, fields, CustomerField.LAST_NAME, String.class),
+                valueOf(tuple, fields, CustomerField.DATE_OF_BIRTH, LocalDate.class),
+                valueOf(tuple, fields, CustomerField.CREATED_AT, LocalDateTime.class),
+                valueOf(tuple, fields, CustomerField.UPDATED_AT, LocalDateTime.class)
+        );
+    }
+
+    public CustomerHistoryDTO toHistoryDto(CustomerHistory entry) {
+        if (entry == null) return null;
+        return new CustomerHistoryDTO(
+                entry.getCustomerId(),
+                entry.getEventType().name(),
+                entry.getFirstName(),
+                entry.getLastName(),
+                entry.getDateOfBirth(),
+                entry.getOccurredAt(),
+                entry.getRecordedAt()
+        );
+    }
+
     public Customer toEntity(CustomerRequestDTO dto) {
         if (dto == null) return null;
         Customer entity = new Customer();
@@ -28,4 +88,8 @@ public class CustomerMapper {
         entity.setDateOfBirth(dto.dateOfBirth());
         return entity;
     }
+
+    private static <T> T valueOf(Tuple tuple, Set<CustomerField> fields, CustomerField field, Class<T> type) {
+        return fields.contains(field) ? tuple.get(field.fieldName(), type) : null;
+    }
 }
@@ -0,0 +1,70 @@
+package com.allica.customer.replica;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    // Only used to give local stand-in replicas a schema; real replicas get it via replication
+    private static final String REPLICA_SCHEMA = "db/shard-schema.sql";
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReadReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.readYourWritesWindow(), properties.trackRemoteAddress());
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReadReplicaProperties properties) {
+        return new ReplicaHealthMonitor(properties.maxLag());
+    }
+
+    // Unsharded primary/replica routing; ShardingConfig applies the same routing per shard
+    @Bean
+    @Primary
+    @ConditionalOnExpression("${app.read-replicas.enabled:false} and !${app.sharding.enabled:false}")
+    public DataSource replicaRoutedDataSource(DataSourceProperties dataSourceProperties,
+                                              ReadReplicaProperties properties,
+                                              ReadYourWritesTracker readYourWrites,
+                                              ReplicaHealthMonitor healthMonitor) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+        return new LazyConnectionDataSourceProxy(
+                withReplicas(primary, properties.replicas(), properties, readYourWrites, healthMonitor));
+    }
+
+    public static DataSource withReplicas(DataSource primary,
+                                          List<ReadReplicaProperties.Replica> replicas,
+                                          ReadReplicaProperties properties,
+                                          ReadYourWritesTracker readYourWrites,
+                                          ReplicaHealthMonitor healthMonitor) {
+        if (!properties.enabled() || replicas.isEmpty()) {
+            return primary;
+        }
+        List<DataSource> replicaDataSources = replicas.stream()
+                .map(replica -> {
+                    DataSource dataSource = DataSourceBuilder.create()
+                            .url(replica.url())
+                            .username(replica.username())
+                            .password(replica.password())
+                            .build();
+                    if (properties.initializeSchema()) {
+                        new ResourceDatabasePopulator(new ClassPathResource(REPLICA_SCHEMA)).execute(dataSource);
+                    }
+                    return dataSource;
+                })
+                .toList();
+        return healthMonitor.register(new ReplicaRoutingDataSource(primary, replicaDataSources, readYourWrites));
+    }
+}
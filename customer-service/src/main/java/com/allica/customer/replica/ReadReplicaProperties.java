@@ -0,0 +1,28 @@
+package com.allica.customer.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.read-replicas")
+public record ReadReplicaProperties(
+        boolean enabled,
+        Duration maxLag,
+        Duration readYourWritesWindow,
+        boolean trackRemoteAddress,
+        boolean initializeSchema,
+        List<Replica> replicas
+) {
+    public ReadReplicaProperties {
+        maxLag = maxLag != null ? maxLag : Duration.ofSeconds(2);
+        readYourWritesWindow = readYourWritesWindow != null ? readYourWritesWindow : Duration.ofSeconds(5);
+        replicas = replicas != null ? List.copyOf(replicas) : List.of();
+    }
+
+    public record Replica(
+            String url,
+            String username,
+            String password
+    ) {}
+}
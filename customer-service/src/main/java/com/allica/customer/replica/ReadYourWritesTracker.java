@@ -0,0 +1,68 @@
+package com.allica.customer.replica;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers which clients wrote recently so their reads stay on the primary until the
+// replicas have had time to catch up. Clients are identified by the X-Client-Id header.
+// Requests without it are not tracked unless the remote-address fallback is enabled; behind
+// a proxy or load balancer every client shares one address, so a single write would pin
+// everyone's reads to the primary for the whole window.
+public class ReadYourWritesTracker {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final boolean trackRemoteAddress;
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this(window, false);
+    }
+
+    public ReadYourWritesTracker(Duration window, boolean trackRemoteAddress) {
+        this.windowNanos = window.toNanos();
+        this.trackRemoteAddress = trackRemoteAddress;
+    }
+
+    public void recordWrite() {
+        String client = currentClient();
+        if (client == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWriteNanos.put(client, now);
+        if (lastWriteNanos.size() > PRUNE_THRESHOLD) {
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+    }
+
+    public boolean isSticky() {
+        String client = currentClient();
+        if (client == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteNanos.get(client);
+        return writtenAt != null && System.nanoTime() - writtenAt <= windowNanos;
+    }
+
+    private String currentClient() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        if (clientId != null && !clientId.isBlank()) {
+            return clientId;
+        }
+        return trackRemoteAddress ? request.getRemoteAddr() : null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.allica.customer.replica;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Periodically re-evaluates replica lag for every replica-routed datasource
+public class ReplicaHealthMonitor {
+
+    private final Duration maxLag;
+    private final List<ReplicaRoutingDataSource> routes = new CopyOnWriteArrayList<>();
+
+    public ReplicaHealthMonitor(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public ReplicaRoutingDataSource register(ReplicaRoutingDataSource route) {
+        routes.add(route);
+        return route;
+    }
+
+    @Scheduled(fixedDelayString = "${app.read-replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        routes.forEach(route -> route.refreshHealth(maxLag));
+    }
+}
@@ -0,0 +1,137 @@
+package com.allica.customer.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read-only transactions to a round-robin pick of healthy replicas and everything
+// else to the primary. Must sit behind a LazyConnectionDataSourceProxy so the read-only
+// flag of the transaction is known by the time a physical connection is requested.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    // Replication lag is measured with a heartbeat: every health check writes the current
+    // time into a one-row table on the primary, and a replica is as far behind as the
+    // heartbeat it can read back. Unlike comparing data timestamps, this keeps moving while
+    // there are no customer writes, so an idle but stale replica is still detected.
+    private static final String CREATE_HEARTBEAT =
+            "CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT NOT NULL PRIMARY KEY, beat_at TIMESTAMP(6) NOT NULL)";
+    private static final String UPDATE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String INSERT_HEARTBEAT = "INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)";
+    private static final String READ_HEARTBEAT = "SELECT MAX(beat_at) FROM replication_heartbeat";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile boolean heartbeatTableReady;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(target -> target.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWrite();
+            }
+            return opener.open(primary);
+        }
+        if (!readYourWrites.isSticky()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return opener.open(replica.dataSource);
+                } catch (SQLException ex) {
+                    replica.healthy = false;
+                    log.warn("Read replica unavailable, failing over: {}", ex.getMessage());
+                }
+            }
+        }
+        return opener.open(primary);
+    }
+
+    // Writes a heartbeat on the primary, then marks replicas that fail or whose replicated
+    // heartbeat is more than maxLag older than it as unhealthy. A replica that has never
+    // received a heartbeat counts as lagging.
+    public void refreshHealth(Duration maxLag) {
+        Timestamp beat;
+        try {
+            beat = writeHeartbeat();
+        } catch (Exception ex) {
+            log.warn("Cannot write replication heartbeat on the primary, keeping replica health unchanged: {}",
+                    ex.getMessage());
+            return;
+        }
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try {
+                Timestamp replicated = new JdbcTemplate(replica.dataSource).queryForObject(READ_HEARTBEAT, Timestamp.class);
+                healthy = replicated != null
+                        && Duration.between(replicated.toInstant(), beat.toInstant()).compareTo(maxLag) <= 0;
+            } catch (Exception ex) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("Read replica {} is now {}", replicas.indexOf(replica), healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public long healthyReplicaCount() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private Timestamp writeHeartbeat() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primary);
+        if (!heartbeatTableReady) {
+            jdbcTemplate.execute(CREATE_HEARTBEAT);
+            heartbeatTableReady = true;
+        }
+        Timestamp beat = Timestamp.from(Instant.now());
+        if (jdbcTemplate.update(UPDATE_HEARTBEAT, beat) == 0) {
+            jdbcTemplate.update(INSERT_HEARTBEAT, beat);
+        }
+        return beat;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.allica.customer.repository;
+
+import com.allica.customer.entity.ArchivedCustomer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ArchivedCustomerRepository extends JpaRepository<ArchivedCustomer, Long> {
+    List<ArchivedCustomer> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+    List<ArchivedCustomer> findAllByOrderByIdAsc(Pageable pageable);
+    List<ArchivedCustomer> findByIdLessThanOrderByIdDesc(Long beforeCursor, Pageable pageable);
+    boolean existsByIdGreaterThanEqual(Long id);
+
+    // Copies hot rows into the archive in a single statement; caller deletes them from the hot tier
+    @Modifying
+    @Transactional
+    @Query("insert into ArchivedCustomer (id, firstName, lastName, dateOfBirth, createdAt, updatedAt, archivedAt) "
+            + "select c.id, c.firstName, c.lastName, c.dateOfBirth, c.createdAt, c.updatedAt, :archivedAt "
+            + "from Customer c where c.id in :ids")
+    int copyFromHotTier(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Demographics aggregates: each row is [dateOfBirth, count]
+    @Query("select c.dateOfBirth, count(c) from ArchivedCustomer c where c.dateOfBirth is not null group by c.dateOfBirth")
+    List<Object[]> countGroupedByDateOfBirth();
+
+    // Demographics aggregates: each row is [year, month, count] of createdAt
+    @Query("select extract(year from c.createdAt), extract(month from c.createdAt), count(c) from ArchivedCustomer c "
+            + "group by extract(year from c.createdAt), extract(month from c.createdAt)")
+    List<Object[]> countGroupedBySignupMonth();
+}
@@ -0,0 +1,25 @@
+package com.allica.customer.repository;
+
+import com.allica.customer.entity.CustomerHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface CustomerHistoryRepository extends JpaRepository<CustomerHistory, Long> {
+    List<CustomerHistory> findByCustomerIdOrderByIdAsc(Long customerId);
+
+    // Appends a whole relay batch in one statement; caller deletes the events from the outbox
+    @Modifying
+    @Transactional
+    @Query("insert into CustomerHistory (customerId, eventType, firstName, lastName, dateOfBirth, occurredAt, recordedAt) "
+            + "select e.customerId, e.eventType, e.firstName, e.lastName, e.dateOfBirth, e.occurredAt, local datetime "
+            + "from CustomerOutboxEvent e where e.id in :ids")
+    int appendFromOutbox(@Param("ids") List<Long> ids);
+}
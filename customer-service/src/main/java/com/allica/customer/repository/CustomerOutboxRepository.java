@@ -0,0 +1,33 @@
+package com.allica.customer.repository;
+
+import com.allica.customer.entity.CustomerOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface CustomerOutboxRepository extends JpaRepository<CustomerOutboxEvent, Long> {
+
+    // Next relay batch, oldest first. The rows stay locked until the caller's transaction
+    // ends; rows locked by another relay are skipped, so concurrent relays take disjoint batches
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "select id from customer_outbox order by id limit :limit for update skip locked",
+            nativeQuery = true)
+    List<Long> findNextBatchIds(@Param("limit") int limit);
+
+    @Query("select min(e.occurredAt) from CustomerOutboxEvent e")
+    LocalDateTime findOldestOccurredAt();
+
+    @Modifying
+    @Transactional
+    @Query("delete from CustomerOutboxEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,20 @@
+package com.allica.customer.repository;
+
+import com.allica.customer.dto.CustomerField;
+import jakarta.persistence.Tuple;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Keyset queries that only select the requested columns (sparse fieldsets).
+// Tuple elements are aliased with CustomerField.fieldName().
+@Transactional(readOnly = true)
+public interface CustomerProjectionRepository {
+
+    // Ascending after "after" (or from the start), or descending before "before"
+    List<Tuple> findProjectedPage(Long after, Long before, int limit, Set<CustomerField> fields);
+
+    Optional<Tuple> findProjectedById(Long id, Set<CustomerField> fields);
+}
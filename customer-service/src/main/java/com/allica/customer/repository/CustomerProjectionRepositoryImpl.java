@@ -0,0 +1,57 @@
+package com.allica.customer.repository;
+
+import com.allica.customer.dto.CustomerField;
+import com.allica.customer.entity.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class CustomerProjectionRepositoryImpl implements CustomerProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findProjectedPage(Long after, Long before, int limit, Set<CustomerField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Customer> root = query.from(Customer.class);
+        Path<Long> id = root.get(CustomerField.ID.fieldName());
+
+        query.multiselect(selections(root, fields));
+        if (before != null) {
+            query.where(cb.lessThan(id, before)).orderBy(cb.desc(id));
+        } else if (after != null) {
+            query.where(cb.greaterThan(id, after)).orderBy(cb.asc(id));
+        } else {
+            query.orderBy(cb.asc(id));
+        }
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long id, Set<CustomerField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Customer> root = query.from(Customer.class);
+
+        query.multiselect(selections(root, fields))
+                .where(cb.equal(root.get(CustomerField.ID.fieldName()), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    private static List<Selection<?>> selections(Root<Customer> root, Set<CustomerField> fields) {
+        return fields.stream()
+                .<Selection<?>>map(field -> root.get(field.fieldName()).alias(field.fieldName()))
+                .toList();
+    }
+}
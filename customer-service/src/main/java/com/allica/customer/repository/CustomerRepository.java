@@ -2,16 +2,40 @@ package com.allica.customer.repository;
 
 import com.allica.customer.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+@Transactional(readOnly = true) // query methods are reads; save/delete keep their own read-write transactions
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerProjectionRepository {
     // Standard CRUD methods are inherited automatically
     List<Customer> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
     List<Customer> findAllByOrderByIdAsc(Pageable pageable);
     List<Customer> findByIdLessThanOrderByIdDesc(Long beforeCursor, Pageable pageable);
     boolean existsByIdGreaterThanEqual(Long id);
+
+    // Demographics aggregates: each row is [dateOfBirth, count]
+    @Query("select c.dateOfBirth, count(c) from Customer c where c.dateOfBirth is not null group by c.dateOfBirth")
+    List<Object[]> countGroupedByDateOfBirth();
+
+    // Demographics aggregates: each row is [year, month, count] of createdAt
+    @Query("select extract(year from c.createdAt), extract(month from c.createdAt), count(c) from Customer c "
+            + "group by extract(year from c.createdAt), extract(month from c.createdAt)")
+    List<Object[]> countGroupedBySignupMonth();
+
+    // Archiving: next batch of customers not updated since the cutoff
+    @Query("select c.id from Customer c where c.updatedAt < :cutoff order by c.id")
+    List<Long> findIdsNotUpdatedSince(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Customer c where c.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
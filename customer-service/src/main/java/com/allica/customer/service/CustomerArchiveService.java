@@ -0,0 +1,148 @@
+package com.allica.customer.service;
+
+import com.allica.customer.durability.CustomerChangeLog;
+import com.allica.customer.repository.ArchivedCustomerRepository;
+import com.allica.customer.repository.CustomerRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Hot/cold tiering: moves customers that have not been updated for app.archive.inactive-after
+// out of "customers" into "archived_customers", one batch per transaction. Keeps the hot
+// table (and the keyset index scans and count() behind listing) small.
+@Service
+@Slf4j
+public class CustomerArchiveService {
+
+    private static final int PROBE_PAGE_SIZE = 20;
+
+    private final CustomerRepository customerRepository;
+    private final ArchivedCustomerRepository archivedCustomerRepository;
+    private final CustomerShardRouter shardRouter;
+    private final CustomerPagePrefetcher pagePrefetcher;
+    private final CustomerChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration inactiveAfter;
+    private final int batchSize;
+
+    private final Counter movedCounter;
+    private final Timer runTimer;
+    private final Timer hotProbeBefore;
+    private final Timer hotProbeAfter;
+
+    public CustomerArchiveService(CustomerRepository customerRepository,
+                                  ArchivedCustomerRepository archivedCustomerRepository,
+                                  CustomerShardRouter shardRouter,
+                                  CustomerPagePrefetcher pagePrefetcher,
+                                  CustomerChangeLog changeLog,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.archive.enabled:false}") boolean enabled,
+                                  @Value("${app.archive.inactive-after:P365D}") Duration inactiveAfter,
+                                  @Value("${app.archive.batch-size:500}") int batchSize) {
+        this.customerRepository = customerRepository;
+        this.archivedCustomerRepository = archivedCustomerRepository;
+        this.shardRouter = shardRouter;
+        this.pagePrefetcher = pagePrefetcher;
+        this.changeLog = changeLog;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.inactiveAfter = inactiveAfter;
+        this.batchSize = batchSize;
+
+        this.movedCounter = Counter.builder("customers.archive.moved")
+                .description("Customers moved from the hot table to the archive").register(meterRegistry);
+        this.runTimer = Timer.builder("customers.archive.run").register(meterRegistry);
+        this.hotProbeBefore = Timer.builder("customers.archive.hot.probe").tag("phase", "before")
+                .description("First page plus count() on the hot tier, measured around each run")
+                .register(meterRegistry);
+        this.hotProbeAfter = Timer.builder("customers.archive.hot.probe").tag("phase", "after")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.archive.interval:PT1H}",
+            initialDelayString = "${app.archive.interval:PT1H}"
+    )
+    public void scheduledRun() {
+        // Moving rows while a snapshot restore is still loading them would lose them
+        if (enabled && !changeLog.awaitingRestore()) {
+            archiveInactiveCustomers();
+        }
+    }
+
+    // Returns the number of customers moved across all shards
+    public long archiveInactiveCustomers() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(inactiveAfter);
+        long probeBefore = probeHotTier();
+        long started = System.nanoTime();
+
+        long moved = shardRouter.onAllShards(() -> archiveShard(cutoff)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+
+        long elapsed = System.nanoTime() - started;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (moved > 0) {
+            pagePrefetcher.invalidateAll();
+        }
+        long probeAfter = probeHotTier();
+        hotProbeBefore.record(probeBefore, TimeUnit.NANOSECONDS);
+        hotProbeAfter.record(probeAfter, TimeUnit.NANOSECONDS);
+
+        double seconds = Math.max(elapsed, 1) / 1e9;
+        log.info("Archived {} customers inactive since {} in {} ms ({} rows/s); hot-tier probe {} ms -> {} ms",
+                moved, cutoff, TimeUnit.NANOSECONDS.toMillis(elapsed), Math.round(moved / seconds),
+                TimeUnit.NANOSECONDS.toMillis(probeBefore), TimeUnit.NANOSECONDS.toMillis(probeAfter));
+        return moved;
+    }
+
+    private long archiveShard(LocalDateTime cutoff) {
+        long moved = 0;
+        int batch;
+        do {
+            LocalDateTime archivedAt = LocalDateTime.now();
+            List<Long> ids = transactionTemplate.execute(status -> moveBatch(cutoff, archivedAt));
+            batch = ids != null ? ids.size() : 0;
+            if (batch > 0) {
+                changeLog.recordArchived(ids, archivedAt);
+            }
+            moved += batch;
+            movedCounter.increment(batch);
+        } while (batch == batchSize);
+        return moved;
+    }
+
+    // Returns the ids moved
+    private List<Long> moveBatch(LocalDateTime cutoff, LocalDateTime archivedAt) {
+        List<Long> ids = customerRepository.findIdsNotUpdatedSince(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        archivedCustomerRepository.copyFromHotTier(ids, archivedAt);
+        customerRepository.deleteByIdIn(ids);
+        return ids;
+    }
+
+    private long probeHotTier() {
+        long started = System.nanoTime();
+        shardRouter.onAllShards(() -> {
+            customerRepository.findAllByOrderByIdAsc(PageRequest.of(0, PROBE_PAGE_SIZE));
+            return customerRepository.count();
+        });
+        return System.nanoTime() - started;
+    }
+}
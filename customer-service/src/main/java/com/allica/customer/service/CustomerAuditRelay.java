@@ -0,0 +1,137 @@
+package com.allica.customer.service;
+
+import com.allica.customer.repository.CustomerHistoryRepository;
+import com.allica.customer.repository.CustomerOutboxRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains customer_outbox into customer_history on every shard. Each batch locks its outbox
+// rows (FOR UPDATE SKIP LOCKED), then runs one insert-select and one delete in the same
+// transaction. Concurrent relays, e.g. on several instances, therefore take disjoint
+// batches. If either statement touches a different number of rows than were locked, the
+// batch is rolled back instead of committing duplicates. A crashed run leaves its events in
+// the outbox for the next one.
+@Service
+@Slf4j
+public class CustomerAuditRelay {
+
+    private final CustomerOutboxRepository outboxRepository;
+    private final CustomerHistoryRepository historyRepository;
+    private final CustomerShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final Counter relayedCounter;
+    private final DistributionSummary batchSizes;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public CustomerAuditRelay(CustomerOutboxRepository outboxRepository,
+                              CustomerHistoryRepository historyRepository,
+                              CustomerShardRouter shardRouter,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.audit.enabled:true}") boolean enabled,
+                              @Value("${app.audit.relay-batch-size:1000}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.historyRepository = historyRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+
+        this.relayedCounter = Counter.builder("customers.audit.relay.events")
+                .description("Outbox events moved into customer_history").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("customers.audit.relay.batch.size")
+                .description("Events per relay transaction").register(meterRegistry);
+        this.batchTimer = Timer.builder("customers.audit.relay.batch").register(meterRegistry);
+        TimeGauge.builder("customers.audit.relay.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest unrelayed outbox event at the start of the last run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.relay-interval:PT1S}")
+    public void scheduledRun() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    // Returns the number of events moved across all shards
+    public long relay() {
+        LocalDateTime now = LocalDateTime.now();
+        // Checked in a read-write transaction so it runs on the primary; a lagging replica
+        // could report an empty outbox and skip the run
+        LocalDateTime oldest = shardRouter.onAllShards(
+                        () -> transactionTemplate.execute(status -> outboxRepository.findOldestOccurredAt()))
+                .stream()
+                .filter(Objects::nonNull)
+                .min(LocalDateTime::compareTo)
+                .orElse(null);
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, now).toMillis()));
+        if (oldest == null) {
+            return 0;
+        }
+
+        long started = System.nanoTime();
+        long relayed = shardRouter.onAllShards(this::relayShard).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        long elapsed = System.nanoTime() - started;
+        if (relayed > 0) {
+            log.debug("Relayed {} audit events in {} ms ({} events/s), lag was {} ms",
+                    relayed, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    Math.round(relayed / (Math.max(elapsed, 1) / 1e9)), lagMillis.get());
+        }
+        return relayed;
+    }
+
+    private long relayShard() {
+        long relayed = 0;
+        int batch;
+        do {
+            long started = System.nanoTime();
+            Integer count = transactionTemplate.execute(status -> relayBatch());
+            batch = count != null ? count : 0;
+            if (batch > 0) {
+                batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                batchSizes.record(batch);
+                relayedCounter.increment(batch);
+            }
+            relayed += batch;
+        } while (batch == batchSize);
+        return relayed;
+    }
+
+    private int relayBatch() {
+        List<Long> ids = outboxRepository.findNextBatchIds(batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int appended = historyRepository.appendFromOutbox(ids);
+        int deleted = outboxRepository.deleteByIdIn(ids);
+        if (appended != ids.size() || deleted != ids.size()) {
+            // Throwing rolls back the whole batch, including the history rows
+            throw new IllegalStateException("Audit relay batch of " + ids.size() + " events appended "
+                    + appended + " and deleted " + deleted + " rows; rolled back");
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,99 @@
+package com.allica.customer.service;
+
+import com.allica.customer.dto.CustomerHistoryDTO;
+import com.allica.customer.entity.Customer;
+import com.allica.customer.entity.CustomerEventType;
+import com.allica.customer.entity.CustomerOutboxEvent;
+import com.allica.customer.exception.CustomerNotFoundException;
+import com.allica.customer.mapper.CustomerMapper;
+import com.allica.customer.repository.ArchivedCustomerRepository;
+import com.allica.customer.repository.CustomerHistoryRepository;
+import com.allica.customer.repository.CustomerOutboxRepository;
+import com.allica.customer.repository.CustomerRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Audit history via a transactional outbox: the write path only adds one compact outbox
+// row inside the customer's own transaction, and CustomerAuditRelay moves those rows into
+// customer_history in the background. History is therefore eventually consistent, lagging
+// writes by roughly app.audit.relay-interval.
+@Service
+public class CustomerAuditService {
+
+    private final CustomerOutboxRepository outboxRepository;
+    private final CustomerHistoryRepository historyRepository;
+    private final CustomerRepository customerRepository;
+    private final ArchivedCustomerRepository archivedCustomerRepository;
+    private final CustomerMapper customerMapper;
+    private final CustomerShardRouter shardRouter;
+    private final boolean enabled;
+
+    private final Timer writeTimer;
+
+    public CustomerAuditService(CustomerOutboxRepository outboxRepository,
+                                CustomerHistoryRepository historyRepository,
+                                CustomerRepository customerRepository,
+                                ArchivedCustomerRepository archivedCustomerRepository,
+                                CustomerMapper customerMapper,
+                                CustomerShardRouter shardRouter,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.audit.enabled:true}") boolean enabled) {
+        this.outboxRepository = outboxRepository;
+        this.historyRepository = historyRepository;
+        this.customerRepository = customerRepository;
+        this.archivedCustomerRepository = archivedCustomerRepository;
+        this.customerMapper = customerMapper;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+
+        // Tagged by audit mode so a deployment with app.audit.enabled=false gives the baseline
+        this.writeTimer = Timer.builder("customers.save")
+                .tag("audit", enabled ? "outbox" : "off")
+                .description("Customer write transaction, including the outbox insert when auditing")
+                .register(meterRegistry);
+    }
+
+    // Must run inside the transaction that persisted the customer
+    public void recordCreated(Customer customer) {
+        if (!enabled || customer == null) {
+            return;
+        }
+        outboxRepository.save(new CustomerOutboxEvent(
+                null,
+                customer.getId(),
+                CustomerEventType.CREATED,
+                customer.getFirstName(),
+                customer.getLastName(),
+                customer.getDateOfBirth(),
+                customer.getCreatedAt() != null ? customer.getCreatedAt() : LocalDateTime.now()
+        ));
+    }
+
+    public void recordWriteLatency(long nanos) {
+        writeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Oldest first. Archived customers keep their history.
+    @Transactional(readOnly = true)
+    public List<CustomerHistoryDTO> getHistory(Long customerId) {
+        return shardRouter.onShard(shardRouter.shardFor(customerId), () -> {
+            List<CustomerHistoryDTO> history = historyRepository.findByCustomerIdOrderByIdAsc(customerId).stream()
+                    .map(customerMapper::toHistoryDto)
+                    .toList();
+            if (history.isEmpty()
+                    && !customerRepository.existsById(customerId)
+                    && !archivedCustomerRepository.existsById(customerId)) {
+                throw new CustomerNotFoundException(customerId);
+            }
+            return history;
+        });
+    }
+}
@@ -0,0 +1,159 @@
+package com.allica.customer.service;
+
+import com.allica.customer.dto.CustomerDemographicsResponse;
+import com.allica.customer.entity.Customer;
+import com.allica.customer.repository.ArchivedCustomerRepository;
+import com.allica.customer.repository.CustomerRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Keeps customer counts by birth date and signup month in memory so the aggregates
+// endpoint never scans the table. Archived customers are included. Counters are rebuilt
+// from the DB at startup and by a periodic reconciliation, and bumped incrementally on
+// every write in between.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerDemographicsService {
+
+    private static final int[] AGE_BAND_LOWER_BOUNDS = {0, 18, 25, 35, 45, 55, 65};
+    private static final String[] AGE_BAND_LABELS = {"0-17", "18-24", "25-34", "35-44", "45-54", "55-64", "65+"};
+
+    private final CustomerRepository customerRepository;
+
+    private final ArchivedCustomerRepository archivedCustomerRepository;
+
+    private final CustomerShardRouter shardRouter;
+
+    @Value("${app.demographics.stale-after:PT15M}")
+    private Duration staleAfter = Duration.ofMinutes(15);
+
+    private volatile Counters counters = new Counters(null);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    // Rebuild counters from the DB and swap them in atomically. Writes racing with the
+    // rebuild may be counted twice or missed; the next reconciliation corrects that drift.
+    @Scheduled(
+            fixedDelayString = "${app.demographics.reconcile-interval:PT5M}",
+            initialDelayString = "${app.demographics.reconcile-interval:PT5M}"
+    )
+    public void reconcile() {
+        long started = System.nanoTime();
+        Counters rebuilt = new Counters(LocalDateTime.now());
+
+        for (Object[] row : gatherRows(customerRepository::countGroupedByDateOfBirth,
+                archivedCustomerRepository::countGroupedByDateOfBirth)) {
+            LocalDate dateOfBirth = (LocalDate) row[0];
+            long count = ((Number) row[1]).longValue();
+            rebuilt.byDateOfBirth.computeIfAbsent(dateOfBirth, key -> new LongAdder()).add(count);
+        }
+        for (Object[] row : gatherRows(customerRepository::countGroupedBySignupMonth,
+                archivedCustomerRepository::countGroupedBySignupMonth)) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            long count = ((Number) row[2]).longValue();
+            rebuilt.bySignupMonth.computeIfAbsent(month, key -> new LongAdder()).add(count);
+            rebuilt.total.add(count);
+        }
+
+        Counters previous = counters;
+        counters = rebuilt;
+        log.debug("Reconciled customer demographics in {} ms (total {} -> {})",
+                Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                previous.total.sum(), rebuilt.total.sum());
+    }
+
+    // Called by CustomerService after a customer has been persisted
+    public void recordCreated(Customer customer) {
+        if (customer == null) {
+            return;
+        }
+        Counters current = counters;
+        if (customer.getDateOfBirth() != null) {
+            current.byDateOfBirth.computeIfAbsent(customer.getDateOfBirth(), key -> new LongAdder()).increment();
+        }
+        LocalDateTime createdAt = customer.getCreatedAt() != null ? customer.getCreatedAt() : LocalDateTime.now();
+        current.bySignupMonth.computeIfAbsent(YearMonth.from(createdAt), key -> new LongAdder()).increment();
+        current.total.increment();
+    }
+
+    public CustomerDemographicsResponse getDemographics() {
+        Counters current = counters;
+        LocalDate today = LocalDate.now();
+
+        Map<Integer, Long> byBirthYear = new TreeMap<>();
+        Map<String, Long> byAgeBand = new LinkedHashMap<>();
+        for (String label : AGE_BAND_LABELS) {
+            byAgeBand.put(label, 0L);
+        }
+        current.byDateOfBirth.forEach((dateOfBirth, adder) -> {
+            long count = adder.sum();
+            byBirthYear.merge(dateOfBirth.getYear(), count, Long::sum);
+            byAgeBand.merge(ageBand(dateOfBirth, today), count, Long::sum);
+        });
+
+        Map<String, Long> bySignupMonth = new TreeMap<>();
+        current.bySignupMonth.forEach((month, adder) -> bySignupMonth.put(month.toString(), adder.sum()));
+
+        LocalDateTime reconciledAt = current.reconciledAt;
+        boolean stale = reconciledAt == null
+                || reconciledAt.plus(staleAfter).isBefore(LocalDateTime.now());
+
+        return new CustomerDemographicsResponse(
+                current.total.sum(), byBirthYear, byAgeBand, bySignupMonth, reconciledAt, stale);
+    }
+
+    // Grouped counts from both tiers of every shard; the same key may appear several times
+    private List<Object[]> gatherRows(Supplier<List<Object[]>> hotQuery, Supplier<List<Object[]>> archiveQuery) {
+        return shardRouter.onAllShards(() -> Stream.concat(hotQuery.get().stream(), archiveQuery.get().stream()).toList())
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private static String ageBand(LocalDate dateOfBirth, LocalDate today) {
+        int age = Math.max(0, Period.between(dateOfBirth, today).getYears());
+        int band = 0;
+        for (int i = 0; i < AGE_BAND_LOWER_BOUNDS.length; i++) {
+            if (age >= AGE_BAND_LOWER_BOUNDS[i]) {
+                band = i;
+            }
+        }
+        return AGE_BAND_LABELS[band];
+    }
+
+    private static final class Counters {
+        private final ConcurrentMap<LocalDate, LongAdder> byDateOfBirth = new ConcurrentHashMap<>();
+        private final ConcurrentMap<YearMonth, LongAdder> bySignupMonth = new ConcurrentHashMap<>();
+        private final LongAdder total = new LongAdder();
+        private final LocalDateTime reconciledAt;
+
+        private Counters(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+        }
+    }
+}
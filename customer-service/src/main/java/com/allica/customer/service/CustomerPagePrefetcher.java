@@ -0,0 +1,214 @@
+package com.allica.customer.service;
+
+import com.allica.customer.dto.CustomerPageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Speculatively loads the next forward page after a page is served, so the typical
+// "next" click is answered from memory. Entries are keyed by (cursor, pageSize), bounded
+// in number and age, and dropped when a write could land inside them. Prefetching backs
+// off while recent page loads are slow or the prefetch queue is full.
+//
+// Invalidation only sees writes made through this instance. Writes and archive runs on
+// other instances, or changes made directly in the DB, are not seen, so an entry can be
+// stale for up to the TTL. Keep app.prefetch.ttl short when several instances share a DB.
+@Component
+@Slf4j
+public class CustomerPagePrefetcher implements DisposableBean {
+
+    private static final double LOAD_LATENCY_SMOOTHING = 0.2;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long takeTimeoutNanos;
+    private final long backoffLatencyNanos;
+    private final ThreadPoolExecutor executor;
+    private final Map<PageKey, Entry> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter skippedUnderPressure;
+    private final Counter skippedQueueFull;
+    private final Timer latencySaved;
+
+    private volatile double averageLoadNanos;
+
+    public CustomerPagePrefetcher(MeterRegistry meterRegistry,
+                                  @Value("${app.prefetch.enabled:true}") boolean enabled,
+                                  @Value("${app.prefetch.max-entries:256}") int maxEntries,
+                                  @Value("${app.prefetch.ttl:PT5S}") Duration ttl,
+                                  @Value("${app.prefetch.take-timeout:PT0.1S}") Duration takeTimeout,
+                                  @Value("${app.prefetch.backoff-latency:PT0.2S}") Duration backoffLatency,
+                                  @Value("${app.prefetch.threads:2}") int threads,
+                                  @Value("${app.prefetch.queue-capacity:16}") int queueCapacity) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.takeTimeoutNanos = takeTimeout.toNanos();
+        this.backoffLatencyNanos = backoffLatency.toNanos();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "page-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PageKey, Entry> eldest) {
+                return size() > CustomerPagePrefetcher.this.maxEntries;
+            }
+        };
+
+        this.hits = Counter.builder("customers.prefetch.requests").tag("result", "hit")
+                .description("Next-page requests answered from the prefetch cache").register(meterRegistry);
+        this.misses = Counter.builder("customers.prefetch.requests").tag("result", "miss")
+                .description("Next-page requests that had to query the DB").register(meterRegistry);
+        this.skippedUnderPressure = Counter.builder("customers.prefetch.skipped").tag("reason", "db_pressure")
+                .register(meterRegistry);
+        this.skippedQueueFull = Counter.builder("customers.prefetch.skipped").tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.latencySaved = Timer.builder("customers.prefetch.latency.saved")
+                .description("DB load time of prefetched pages that were served from cache")
+                .register(meterRegistry);
+        meterRegistry.gauge("customers.prefetch.cache.size", cache, Map::size);
+    }
+
+    // Returns the prefetched page for (cursor, pageSize). A load still in flight is waited
+    // for up to the take timeout; after that the caller queries the DB itself.
+    public Optional<CustomerPageResponse> take(Long cursor, int pageSize) {
+        if (!enabled || cursor == null) {
+            return Optional.empty();
+        }
+        PageKey key = new PageKey(cursor, pageSize);
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+            if (entry != null && isExpired(entry)) {
+                cache.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        try {
+            CustomerPageResponse page = entry.page.get(takeTimeoutNanos, TimeUnit.NANOSECONDS);
+            hits.increment();
+            latencySaved.record(entry.loadNanos, TimeUnit.NANOSECONDS);
+            return Optional.of(page);
+        } catch (TimeoutException | ExecutionException ex) {
+            misses.increment();
+            return Optional.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    public void prefetch(Long cursor, int pageSize, Supplier<CustomerPageResponse> loader) {
+        if (!enabled || cursor == null) {
+            return;
+        }
+        if (averageLoadNanos > backoffLatencyNanos) {
+            skippedUnderPressure.increment();
+            return;
+        }
+        PageKey key = new PageKey(cursor, pageSize);
+        Entry entry = new Entry(System.nanoTime());
+        synchronized (cache) {
+            cache.values().removeIf(this::isExpired);
+            if (cache.containsKey(key)) {
+                return;
+            }
+            cache.put(key, entry);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    long started = System.nanoTime();
+                    CustomerPageResponse page = loader.get();
+                    entry.loadNanos = System.nanoTime() - started;
+                    entry.page.complete(page);
+                } catch (RuntimeException ex) {
+                    log.debug("Prefetch of page after {} failed: {}", cursor, ex.getMessage());
+                    entry.page.completeExceptionally(ex);
+                    remove(key, entry);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            skippedQueueFull.increment();
+            remove(key, entry);
+        }
+    }
+
+    // Feeds the DB pressure signal with the duration of every page load
+    public void recordLoad(long nanos) {
+        averageLoadNanos = averageLoadNanos == 0
+                ? nanos
+                : averageLoadNanos + LOAD_LATENCY_SMOOTHING * (nanos - averageLoadNanos);
+    }
+
+    // A new or changed customer with this id can appear in any page that starts below it
+    public void invalidateFrom(Long id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> key.cursor() < id);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return System.nanoTime() - entry.createdAt > ttlNanos;
+    }
+
+    private void remove(PageKey key, Entry entry) {
+        synchronized (cache) {
+            cache.remove(key, entry);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private record PageKey(long cursor, int pageSize) {}
+
+    private static final class Entry {
+        private final long createdAt;
+        private final CompletableFuture<CustomerPageResponse> page = new CompletableFuture<>();
+        private volatile long loadNanos;
+
+        private Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
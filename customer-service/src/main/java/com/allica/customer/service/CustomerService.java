@@ -1,18 +1,33 @@
 package com.allica.customer.service;
 
+import com.allica.customer.durability.CustomerChangeLog;
+import com.allica.customer.dto.CustomerField;
 import com.allica.customer.dto.CustomerRequestDTO;
 import com.allica.customer.dto.CustomerResponseDTO;
 import com.allica.customer.dto.CustomerPageResponse;
 import com.allica.customer.dto.PageInfo;
+import com.allica.customer.entity.ArchivedCustomer;
 import com.allica.customer.entity.Customer;
+import com.allica.customer.exception.CustomerDataRestoringException;
 import com.allica.customer.exception.CustomerNotFoundException;
 import com.allica.customer.mapper.CustomerMapper;
+import com.allica.customer.replica.ReadYourWritesTracker;
+import com.allica.customer.repository.ArchivedCustomerRepository;
 import com.allica.customer.repository.CustomerRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import com.allica.customer.sharding.SortedMerge;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,67 +35,212 @@ import java.util.stream.Collectors;
 public class CustomerService {
     private final CustomerRepository customerRepository;
 
+    private final ArchivedCustomerRepository archivedCustomerRepository;
+
     private final CustomerMapper customerMapper;
-    // Convert DTO to Entity and Save
+
+    private final CustomerDemographicsService demographicsService;
+
+    private final CustomerShardRouter shardRouter;
+
+    private final CustomerPagePrefetcher pagePrefetcher;
+
+    private final CustomerAuditService auditService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CustomerChangeLog changeLog;
+
+    private final ReadYourWritesTracker readYourWrites;
+    // Convert DTO to Entity and Save. The audit outbox row commits atomically with the
+    // customer; caches and counters are only touched once the transaction has committed.
+    // In durable mode the change is logged before the write is acknowledged.
     public CustomerResponseDTO saveCustomer(CustomerRequestDTO dto) {
         if (dto == null) {
             throw new IllegalArgumentException("CustomerRequestDTO must not be null");
         }
+        if (changeLog.awaitingRestore()) {
+            throw new CustomerDataRestoringException();
+        }
         Customer entity = customerMapper.toEntity(dto);
-        Customer savedEntity = customerRepository.save(entity);
+        long started = System.nanoTime();
+        Customer savedEntity = shardRouter.onShard(shardRouter.nextWriteShard(),
+                () -> transactionTemplate.execute(status -> {
+                    Customer persisted = customerRepository.save(entity);
+                    auditService.recordCreated(persisted);
+                    return persisted;
+                }));
+        auditService.recordWriteLatency(System.nanoTime() - started);
+        changeLog.recordSaved(savedEntity);
+        demographicsService.recordCreated(savedEntity);
+        pagePrefetcher.invalidateFrom(savedEntity.getId());
         return customerMapper.toDto(savedEntity);
     }
 
+    @Transactional(readOnly = true)
     public CustomerResponseDTO getCustomerById(Long id) {
-        Customer customer = customerRepository.findById(id)
+        return getCustomerById(id, null);
+    }
+
+    // fields == null selects every field; otherwise only the selected columns are queried.
+    // Falls back to the archive tier when the customer is no longer in the hot table.
+    @Transactional(readOnly = true)
+    public CustomerResponseDTO getCustomerById(Long id, Set<CustomerField> fields) {
+        int shard = shardRouter.shardFor(id);
+        Optional<CustomerResponseDTO> hot = fields != null
+                ? shardRouter.onShard(shard, () -> customerRepository.findProjectedById(id, fields))
+                        .map(tuple -> customerMapper.toDto(tuple, fields))
+                : shardRouter.onShard(shard, () -> customerRepository.findById(id))
+                        .map(customerMapper::toDto);
+        return hot
+                .or(() -> shardRouter.onShard(shard, () -> archivedCustomerRepository.findById(id))
+                        .map(archived -> customerMapper.restrict(customerMapper.fromArchive(archived), fields)))
                 .orElseThrow(() -> new CustomerNotFoundException(id));
-        return customerMapper.toDto(customer);
     }
 
-    // Cursor-based pagination: after "cursor" for next, or before "before" for previous
+    @Transactional(readOnly = true)
     public CustomerPageResponse getAllCustomers(Long after, Long before, int pageSize, boolean includeTotal) {
-        int safePageSize = Math.max(1, pageSize);
-        int fetchSize = safePageSize + 1; // fetch one extra to detect next page
-        List<Customer> customers;
-        boolean isBackward = before != null;
+        return getAllCustomers(after, before, pageSize, includeTotal, null, false);
+    }
 
-        if (isBackward) {
-            customers = customerRepository.findByIdLessThanOrderByIdDesc(before, PageRequest.of(0, fetchSize));
+    // Cursor-based pagination: after "cursor" for next, or before "before" for previous.
+    // Each shard returns its own keyset page and the pages are k-way merged by id.
+    // fields == null loads full entities; otherwise only the selected columns are queried.
+    // includeArchived merges the archive tier into the same id order.
+    @Transactional(readOnly = true)
+    public CustomerPageResponse getAllCustomers(Long after, Long before, int pageSize, boolean includeTotal,
+                                                Set<CustomerField> fields, boolean includeArchived) {
+        if (includeArchived) {
+            return this.<CustomerResponseDTO>loadPage(after, before, pageSize, includeTotal, true,
+                    (cursor, beforeCursor, fetchSize) -> bothTiersPage(cursor, beforeCursor, fetchSize, fields),
+                    CustomerResponseDTO::id,
+                    Function.identity());
+        }
+        if (fields != null) {
+            return this.<Tuple>loadPage(after, before, pageSize, includeTotal, false,
+                    (cursor, beforeCursor, fetchSize) ->
+                            customerRepository.findProjectedPage(cursor, beforeCursor, fetchSize, fields),
+                    tuple -> tuple.get(CustomerField.ID.fieldName(), Long.class),
+                    tuple -> customerMapper.toDto(tuple, fields));
+        }
+        if (before != null || includeTotal) {
+            return loadEntityPage(after, before, pageSize, includeTotal);
+        }
+
+        // A client inside its read-your-writes window must read from the primary, but cached
+        // pages may have been loaded from a replica (the prefetch runs outside the request)
+        if (readYourWrites.isSticky()) {
+            return loadEntityPage(after, null, pageSize, false);
+        }
+
+        // Plain forward paging: serve from the prefetch cache when possible and warm the next page
+        CustomerPageResponse page = pagePrefetcher.take(after, Math.max(1, pageSize))
+                .orElseGet(() -> loadEntityPage(after, null, pageSize, false));
+        PageInfo pageInfo = page.pageInfo();
+        if (pageInfo.hasNext()) {
+            Long nextCursor = pageInfo.nextCursor();
+            pagePrefetcher.prefetch(nextCursor, pageInfo.pageSize(),
+                    () -> loadEntityPage(nextCursor, null, pageSize, false));
+        }
+        return page;
+    }
+
+    private CustomerPageResponse loadEntityPage(Long after, Long before, int pageSize, boolean includeTotal) {
+        return loadPage(after, before, pageSize, includeTotal, false,
+                this::hotEntityPage,
+                Customer::getId,
+                customerMapper::toDto);
+    }
+
+    private List<Customer> hotEntityPage(Long after, Long before, int fetchSize) {
+        if (before != null) {
+            return customerRepository.findByIdLessThanOrderByIdDesc(before, PageRequest.of(0, fetchSize));
+        } else if (after == null) {
+            return customerRepository.findAllByOrderByIdAsc(PageRequest.of(0, fetchSize));
+        } else {
+            return customerRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, fetchSize));
+        }
+    }
+
+    // One shard's page across the hot and archive tiers, in the same order as the keyset query
+    private List<CustomerResponseDTO> bothTiersPage(Long after, Long before, int fetchSize, Set<CustomerField> fields) {
+        List<CustomerResponseDTO> hot = fields != null
+                ? customerRepository.findProjectedPage(after, before, fetchSize, fields).stream()
+                        .map(tuple -> customerMapper.toDto(tuple, fields))
+                        .toList()
+                : hotEntityPage(after, before, fetchSize).stream()
+                        .map(customerMapper::toDto)
+                        .toList();
+        List<ArchivedCustomer> archivedRows;
+        if (before != null) {
+            archivedRows = archivedCustomerRepository.findByIdLessThanOrderByIdDesc(before, PageRequest.of(0, fetchSize));
         } else if (after == null) {
-            customers = customerRepository.findAllByOrderByIdAsc(PageRequest.of(0, fetchSize));
+            archivedRows = archivedCustomerRepository.findAllByOrderByIdAsc(PageRequest.of(0, fetchSize));
         } else {
-            customers = customerRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, fetchSize));
+            archivedRows = archivedCustomerRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, fetchSize));
         }
+        List<CustomerResponseDTO> archived = archivedRows.stream()
+                .map(row -> customerMapper.restrict(customerMapper.fromArchive(row), fields))
+                .toList();
+        Comparator<CustomerResponseDTO> byId = Comparator.comparing(CustomerResponseDTO::id);
+        return SortedMerge.merge(List.of(hot, archived), before != null ? byId.reversed() : byId, fetchSize);
+    }
+
+    private <T> CustomerPageResponse loadPage(Long after, Long before, int pageSize, boolean includeTotal,
+                                              boolean includeArchived,
+                                              ShardPageQuery<T> query,
+                                              Function<T, Long> idOf,
+                                              Function<T, CustomerResponseDTO> toDto) {
+        int safePageSize = Math.max(1, pageSize);
+        int fetchSize = safePageSize + 1; // fetch one extra to detect next page
+        boolean isBackward = before != null;
+
+        long started = System.nanoTime();
+        List<List<T>> shardPages = shardRouter.onAllShards(() -> query.fetch(after, before, fetchSize));
+        pagePrefetcher.recordLoad(System.nanoTime() - started);
+        Comparator<T> byId = Comparator.comparing(idOf);
+        List<T> rows = SortedMerge.merge(shardPages, isBackward ? byId.reversed() : byId, fetchSize);
 
-        boolean hasExtra = customers.size() > safePageSize;
-        List<Customer> pageSlice = hasExtra ? customers.subList(0, safePageSize) : customers;
+        boolean hasExtra = rows.size() > safePageSize;
+        List<T> pageSlice = hasExtra ? rows.subList(0, safePageSize) : rows;
         if (isBackward) {
             Collections.reverse(pageSlice);
         }
 
         List<CustomerResponseDTO> items = pageSlice.stream()
-                .map(customerMapper::toDto)
+                .map(toDto)
                 .collect(Collectors.toList());
 
         Long nextCursor = pageSlice.isEmpty()
                 ? null
-                : pageSlice.get(pageSlice.size() - 1).getId();
+                : idOf.apply(pageSlice.get(pageSlice.size() - 1));
         Long prevCursor = pageSlice.isEmpty()
                 ? null
-                : pageSlice.get(0).getId();
+                : idOf.apply(pageSlice.get(0));
 
         boolean hasNext;
         if (isBackward) {
-            hasNext = before != null && customerRepository.existsByIdGreaterThanEqual(before);
+            hasNext = before != null && shardRouter.onAllShards(
+                    () -> customerRepository.existsByIdGreaterThanEqual(before)
+                            || (includeArchived && archivedCustomerRepository.existsByIdGreaterThanEqual(before))
+            ).contains(true);
         } else {
             hasNext = hasExtra;
         }
 
-        Long totalCount = includeTotal ? customerRepository.count() : null;
+        Long totalCount = includeTotal
+                ? shardRouter.onAllShards(() -> customerRepository.count()
+                        + (includeArchived ? archivedCustomerRepository.count() : 0L))
+                        .stream().mapToLong(Long::longValue).sum()
+                : null;
 
         PageInfo pageInfo = new PageInfo(nextCursor, prevCursor, safePageSize, hasNext, totalCount);
         return new CustomerPageResponse(items, pageInfo);
     }
 
-
+    // One shard's keyset page: ascending after "after" (or from the start), or descending before "before"
+    @FunctionalInterface
+    private interface ShardPageQuery<T> {
+        List<T> fetch(Long after, Long before, int fetchSize);
+    }
 }
@@ -0,0 +1,98 @@
+package com.allica.customer.sharding;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Decides which shard a customer lives on and runs repository work against one or all
+// shards. With a single shard everything runs inline on the caller's thread.
+public class CustomerShardRouter implements DisposableBean {
+
+    private final int shardCount;
+    private final ExecutorService scatterExecutor;
+    private final AtomicInteger writeCounter = new AtomicInteger();
+
+    public CustomerShardRouter(int shardCount) {
+        if (shardCount < 1 || shardCount > SnowflakeIdGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException(
+                    "Shard count must be between 1 and " + SnowflakeIdGenerator.MAX_SHARDS);
+        }
+        this.shardCount = shardCount;
+        this.scatterExecutor = shardCount > 1 ? Executors.newFixedThreadPool(shardCount, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public static CustomerShardRouter singleShard() {
+        return new CustomerShardRouter(1);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    // The owning shard is encoded in the id itself (see SnowflakeIdGenerator)
+    public int shardFor(Long id) {
+        return shardCount == 1 ? 0 : SnowflakeIdGenerator.shardOf(id) % shardCount;
+    }
+
+    // New customers are spread round-robin; their ids then carry the chosen shard
+    public int nextWriteShard() {
+        return shardCount == 1 ? 0 : Math.floorMod(writeCounter.getAndIncrement(), shardCount);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return ShardContext.callOn(shard, work);
+    }
+
+    // Scatter: run the same work on every shard in parallel and gather results in shard order.
+    // The caller's request is exposed to the workers so per-client replica routing still applies.
+    public <T> List<T> onAllShards(Supplier<T> work) {
+        if (shardCount == 1) {
+            return List.of(onShard(0, work));
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                RequestContextHolder.setRequestAttributes(request);
+                try {
+                    return onShard(target, work);
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }, scatterExecutor));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+}
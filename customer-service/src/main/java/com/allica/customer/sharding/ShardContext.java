@@ -0,0 +1,32 @@
+package com.allica.customer.sharding;
+
+import java.util.function.Supplier;
+
+// Holds the shard the current thread is working against. Read by ShardRoutingDataSource
+// to pick a connection and by SnowflakeIdGenerator to stamp new ids with their shard.
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.allica.customer.sharding;
+
+import com.allica.customer.replica.ReadReplicaConfig;
+import com.allica.customer.replica.ReadReplicaProperties;
+import com.allica.customer.replica.ReadYourWritesTracker;
+import com.allica.customer.replica.ReplicaHealthMonitor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    static final String SHARD_SCHEMA = "db/shard-schema.sql";
+
+    @Bean
+    public CustomerShardRouter customerShardRouter(ShardingProperties properties) {
+        SnowflakeIdGenerator.setNodeId(properties.nodeId());
+        int shardCount = properties.enabled() ? properties.shards().size() : 1;
+        return new CustomerShardRouter(shardCount);
+    }
+
+    // Replaces the auto-configured spring.datasource with one pool per shard. Hibernate's
+    // schema tooling only ever sees shard 0, so every shard gets the schema script instead.
+    // Shards with replicas configured route read-only transactions to them.
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+    public DataSource shardedDataSource(ShardingProperties properties,
+                                        ReadReplicaProperties replicaProperties,
+                                        ReadYourWritesTracker readYourWrites,
+                                        ReplicaHealthMonitor healthMonitor) {
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("app.sharding.enabled=true requires at least one app.sharding.shards entry");
+        }
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < properties.shards().size(); i++) {
+            ShardingProperties.Shard shard = properties.shards().get(i);
+            DataSource target = DataSourceBuilder.create()
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            new ResourceDatabasePopulator(new ClassPathResource(SHARD_SCHEMA)).execute(target);
+            targets.put(i, ReadReplicaConfig.withReplicas(
+                    target, shard.replicas(), replicaProperties, readYourWrites, healthMonitor));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get(0));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
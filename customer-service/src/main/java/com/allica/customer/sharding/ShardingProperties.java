@@ -0,0 +1,28 @@
+package com.allica.customer.sharding;
+
+import com.allica.customer.replica.ReadReplicaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        int nodeId,
+        List<Shard> shards
+) {
+    public ShardingProperties {
+        shards = shards != null ? List.copyOf(shards) : List.of();
+    }
+
+    public record Shard(
+            String url,
+            String username,
+            String password,
+            List<ReadReplicaProperties.Replica> replicas
+    ) {
+        public Shard {
+            replicas = replicas != null ? List.copyOf(replicas) : List.of();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.allica.customer.sharding;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Snowflake-style ids that are unique across shards and app instances without a shared
+// sequence. Layout is kept within 53 bits so ids stay exact as JavaScript numbers in
+// customer-ui:
+//
+//   | 41 bits millis since 2025-01-01 | 4 bits shard | 2 bits node | 6 bits sequence |
+//
+// Ids are time ordered, so keyset pagination by id keeps working, and the shard that owns
+// a row can be read straight from its id. An id never carries a time later than the wall
+// clock, so a restarted process cannot repeat ids that are already stored. This generator
+// is used in single-shard mode too, in place of the former IDENTITY column.
+public class SnowflakeIdGenerator implements BeforeExecutionGenerator {
+
+    public static final int MAX_SHARDS = 16;
+    public static final int MAX_NODES = 4;
+
+    private static final long EPOCH_MILLIS = 1735689600000L; // 2025-01-01T00:00:00Z
+    private static final int SEQUENCE_BITS = 6;
+    private static final int NODE_BITS = 2;
+    private static final int SHARD_BITS = 4;
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int SHARD_SHIFT = NODE_SHIFT + NODE_BITS;
+    private static final int TIMESTAMP_SHIFT = SHARD_SHIFT + SHARD_BITS;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static volatile int nodeId;
+    private static long lastTimestamp = -1;
+    private static long sequence;
+
+    public static void setNodeId(int id) {
+        if (id < 0 || id >= MAX_NODES) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + (MAX_NODES - 1));
+        }
+        nodeId = id;
+    }
+
+    public static int shardOf(long id) {
+        return (int) ((id >>> SHARD_SHIFT) & (MAX_SHARDS - 1));
+    }
+
+    public static synchronized long nextId(int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + (MAX_SHARDS - 1));
+        }
+        long now = currentMillis();
+        if (now < lastTimestamp) {
+            // The clock stepped back: wait for it rather than reuse milliseconds already handed out
+            now = waitUntil(lastTimestamp);
+        }
+        if (now == lastTimestamp && ++sequence > MAX_SEQUENCE) {
+            // Sequence exhausted: wait for the next millisecond. Borrowing one from the future
+            // would survive in stored ids but not in this in-memory state, so a restart could
+            // hand the same ids out again.
+            now = waitUntil(lastTimestamp + 1);
+        }
+        if (now > lastTimestamp) {
+            lastTimestamp = now;
+            sequence = 0;
+        }
+        return (lastTimestamp << TIMESTAMP_SHIFT)
+                | ((long) shard << SHARD_SHIFT)
+                | ((long) nodeId << NODE_SHIFT)
+                | sequence;
+    }
+
+    // Milliseconds since the epoch at which the id was generated
+    static long millisOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    private static long currentMillis() {
+        return System.currentTimeMillis() - EPOCH_MILLIS;
+    }
+
+    private static long waitUntil(long target) {
+        long now = currentMillis();
+        while (now < target) {
+            if (target - now > 1) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(target - now - 1));
+            } else {
+                Thread.onSpinWait();
+            }
+            now = currentMillis();
+        }
+        return now;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return nextId(ShardContext.current());
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,73 @@
+package com.allica.customer.config;
+
+import com.allica.customer.dto.CustomerPageResponse;
+import com.allica.customer.dto.CustomerResponseDTO;
+import com.allica.customer.dto.PageInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with ./gradlew benchmark
+@Tag("benchmark")
+class CustomerPayloadBenchmarkTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    @Test
+    @DisplayName("Benchmark: CBOR vs JSON payload size and serialization throughput")
+    void compareJsonAndCbor() {
+        CustomerPageResponse page = samplePage();
+        ObjectMapper json = JsonMapper.builder().build();
+        ObjectMapper cbor = ContentNegotiationConfig.customerCborMapper();
+
+        int jsonBytes = json.writeValueAsBytes(page).length;
+        int cborBytes = cbor.writeValueAsBytes(page).length;
+        double jsonPagesPerSecond = throughput(json, page);
+        double cborPagesPerSecond = throughput(cbor, page);
+
+        System.out.printf("Page of %d customers%n", PAGE_SIZE);
+        System.out.printf("  JSON: %,d bytes, %,.0f pages/s%n", jsonBytes, jsonPagesPerSecond);
+        System.out.printf("  CBOR: %,d bytes, %,.0f pages/s (%.0f%% of JSON size)%n",
+                cborBytes, cborPagesPerSecond, 100.0 * cborBytes / jsonBytes);
+
+        assertTrue(cborBytes < jsonBytes, "CBOR payload should be smaller than JSON");
+        assertEquals(page, cbor.readValue(cbor.writeValueAsBytes(page), CustomerPageResponse.class));
+    }
+
+    private static double throughput(ObjectMapper mapper, CustomerPageResponse page) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapper.writeValueAsBytes(page);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            mapper.writeValueAsBytes(page);
+        }
+        return MEASURED_ITERATIONS / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private static CustomerPageResponse samplePage() {
+        List<CustomerResponseDTO> items = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 10, 0, 0);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            items.add(new CustomerResponseDTO(
+                    1_000_000L + i,
+                    "First" + i,
+                    "Last" + i,
+                    LocalDate.of(1970, 1, 1).plusDays(i * 97L),
+                    created.plusMinutes(i),
+                    created.plusMinutes(i)
+            ));
+        }
+        return new CustomerPageResponse(items, new PageInfo(1_000_099L, 1_000_000L, PAGE_SIZE, true, null));
+    }
+}
@@ -0,0 +1,52 @@
+package com.allica.customer.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpochDateModuleTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private final ObjectMapper cbor = ContentNegotiationConfig.customerCborMapper();
+    private TimeZone originalZone;
+
+    @BeforeEach
+    void setUp() {
+        originalZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(NEW_YORK));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TimeZone.setDefault(originalZone);
+    }
+
+    @Test
+    @DisplayName("EpochDate: LocalDateTime is written as the epoch millis of the default zone")
+    void localDateTime_UsesDefaultZone() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 7, 1, 10, 0);
+
+        long written = cbor.readTree(cbor.writeValueAsBytes(createdAt)).asLong();
+
+        assertEquals(createdAt.atZone(NEW_YORK).toInstant().toEpochMilli(), written);
+        assertEquals(createdAt, cbor.readValue(cbor.writeValueAsBytes(createdAt), LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("EpochDate: LocalDate round-trips as epoch day regardless of zone")
+    void localDate_RoundTrips() {
+        LocalDate dateOfBirth = LocalDate.of(1990, 1, 1);
+
+        assertEquals(dateOfBirth.toEpochDay(), cbor.readTree(cbor.writeValueAsBytes(dateOfBirth)).asLong());
+        assertEquals(dateOfBirth, cbor.readValue(cbor.writeValueAsBytes(dateOfBirth), LocalDate.class));
+    }
+}
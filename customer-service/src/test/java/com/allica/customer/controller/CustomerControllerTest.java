@@ -1,5 +1,7 @@
 package com.allica.customer.controller;
 
+import com.allica.customer.config.ContentNegotiationConfig;
+import com.allica.customer.dto.CustomerField;
 import com.allica.customer.dto.CustomerRequestDTO;
 import com.allica.customer.dto.CustomerResponseDTO;
 import com.allica.customer.dto.CustomerPageResponse;
@@ -12,9 +14,15 @@ import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -75,7 +83,7 @@ public class CustomerControllerTest {
                 new PageInfo(10L, 5L, 20, false, null)
         );
 
-        when(customerService.getAllCustomers(null, null, 20, false)).thenReturn(response);
+        when(customerService.getAllCustomers(null, null, 20, false, null, false)).thenReturn(response);
 
         mockMvc.perform(get("/api/customers"))
                 .andExpect(status().isOk())
@@ -97,7 +105,7 @@ public class CustomerControllerTest {
                 java.time.LocalDateTime.of(2024, 1, 1, 10, 0),
                 java.time.LocalDateTime.of(2024, 1, 1, 10, 0)
         );
-        when(customerService.getCustomerById(2L)).thenReturn(dto);
+        when(customerService.getCustomerById(2L, null)).thenReturn(dto);
 
         mockMvc.perform(get("/api/customers/2"))
                 .andExpect(status().isOk())
@@ -106,6 +114,88 @@ public class CustomerControllerTest {
                 .andExpect(jsonPath("$.lastName").value("Smith"));
     }
 
+    @Test
+    @DisplayName("Controller: GET by id should return CBOR with epoch dates when requested")
+    void getCustomerById_Cbor() throws Exception {
+        CustomerResponseDTO dto = new CustomerResponseDTO(
+                2L,
+                "John",
+                "Smith",
+                LocalDate.of(1990, 1, 1),
+                LocalDateTime.of(2024, 1, 1, 10, 0),
+                LocalDateTime.of(2024, 1, 1, 10, 0)
+        );
+        when(customerService.getCustomerById(2L, null)).thenReturn(dto);
+
+        byte[] body = mockMvc.perform(get("/api/customers/2").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode node = ContentNegotiationConfig.customerCborMapper().readTree(body);
+        assertEquals("John", node.get("firstName").asString());
+        assertEquals(LocalDate.of(1990, 1, 1).toEpochDay(), node.get("dateOfBirth").asLong());
+        assertTrue(node.get("createdAt").isNumber());
+    }
+
+    @Test
+    @DisplayName("Controller: GET without Accept should default to JSON")
+    void getAllCustomers_DefaultsToJson() throws Exception {
+        when(customerService.getAllCustomers(null, null, 20, false, null, false)).thenReturn(
+                new CustomerPageResponse(List.of(), new PageInfo(null, null, 20, false, null)));
+
+        mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Controller: GET with fields should pass the selection and omit unselected fields")
+    void getAllCustomers_SparseFieldset() throws Exception {
+        Set<CustomerField> fields = EnumSet.of(
+                CustomerField.ID, CustomerField.FIRST_NAME, CustomerField.LAST_NAME);
+        CustomerResponseDTO dto = new CustomerResponseDTO(1L, "Jane", "Doe", null, null, null);
+        when(customerService.getAllCustomers(null, null, 20, false, fields, false)).thenReturn(
+                new CustomerPageResponse(List.of(dto), new PageInfo(1L, 1L, 20, false, null)));
+
+        mockMvc.perform(get("/api/customers").param("fields", "firstName,lastName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].firstName").value("Jane"))
+                .andExpect(jsonPath("$.items[0].dateOfBirth").doesNotExist())
+                .andExpect(jsonPath("$.items[0].createdAt").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Controller: GET without fields should keep null properties in the response")
+    void getCustomerById_FullResponseKeepsNulls() throws Exception {
+        CustomerResponseDTO dto = new CustomerResponseDTO(
+                3L,
+                "Ann",
+                "Lee",
+                null,
+                LocalDateTime.of(2024, 1, 1, 10, 0),
+                LocalDateTime.of(2024, 1, 1, 10, 0)
+        );
+        when(customerService.getCustomerById(3L, null)).thenReturn(dto);
+
+        mockMvc.perform(get("/api/customers/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Ann"))
+                .andExpect(content().string(containsString("\"dateOfBirth\":null")));
+    }
+
+    @Test
+    @DisplayName("Negative Test: Should return 400 for unknown fields")
+    void getCustomerById_UnknownField_Returns400() throws Exception {
+        mockMvc.perform(get("/api/customers/2").param("fields", "firstName,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid field selection"))
+                .andExpect(jsonPath("$.errors.fields").exists());
+
+        verify(customerService, never()).getCustomerById(any(), any());
+    }
+
     @Test
     @DisplayName("Controller: Should return 400 Bad Request on invalid input")
     void createCustomer_ValidationError() throws Exception {
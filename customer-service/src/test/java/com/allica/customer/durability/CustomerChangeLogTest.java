@@ -0,0 +1,177 @@
+package com.allica.customer.durability;
+
+import com.allica.customer.entity.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerChangeLogTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @TempDir
+    private Path directory;
+
+    private CustomerChangeLog changeLog(boolean enabled) {
+        return new CustomerChangeLog(
+                new DurabilityProperties(enabled, directory, Duration.ofMinutes(5), false, false, 100),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Change log: saved and archived entries replay in order")
+    void recordAndReplay() throws IOException {
+        CustomerChangeLog changeLog = changeLog(true);
+        LocalDateTime archivedAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+        changeLog.recordSaved(new Customer(1L, "John", "Doe", LocalDate.of(1990, 1, 1), CREATED, CREATED));
+        changeLog.recordSaved(new Customer(2L, "Jane", "Smith", null, CREATED, CREATED));
+        changeLog.recordArchived(List.of(1L, 2L), archivedAt);
+        changeLog.destroy();
+
+        List<String> replayed = new ArrayList<>();
+        long entries = replay(changeLog.segmentsBetween(0, Long.MAX_VALUE), replayed);
+
+        assertEquals(3, entries);
+        assertEquals(List.of("saved 1 John", "saved 2 Jane", "archived 1 " + archivedAt, "archived 2 " + archivedAt),
+                replayed);
+    }
+
+    @Test
+    @DisplayName("Change log: a torn final entry is dropped on replay")
+    void replay_IgnoresTornTail() throws IOException {
+        CustomerChangeLog changeLog = changeLog(true);
+        changeLog.recordSaved(new Customer(1L, "John", "Doe", null, CREATED, CREATED));
+        changeLog.recordSaved(new Customer(2L, "Jane", "Smith", null, CREATED, CREATED));
+        changeLog.destroy();
+
+        Path segment = changeLog.segmentsBetween(0, Long.MAX_VALUE).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        List<String> replayed = new ArrayList<>();
+
+        assertEquals(1, replay(List.of(segment), replayed));
+        assertEquals(List.of("saved 1 John"), replayed);
+    }
+
+    @Test
+    @DisplayName("Change log: a zero-filled tail after the last entry is ignored")
+    void replay_IgnoresZeroFilledTail() throws IOException {
+        CustomerChangeLog changeLog = changeLog(true);
+        changeLog.recordSaved(new Customer(1L, "John", "Doe", null, CREATED, CREATED));
+        changeLog.recordSaved(new Customer(2L, "Jane", "Smith", null, CREATED, CREATED));
+        changeLog.destroy();
+
+        Path segment = changeLog.segmentsBetween(0, Long.MAX_VALUE).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(4096));
+        }
+        List<String> replayed = new ArrayList<>();
+
+        assertEquals(2, replay(List.of(segment), replayed));
+        assertEquals(List.of("saved 1 John", "saved 2 Jane"), replayed);
+    }
+
+    @Test
+    @DisplayName("Change log: a last entry with a bad checksum is treated as torn")
+    void replay_DropsLastEntryWithBadChecksum() throws IOException {
+        CustomerChangeLog changeLog = changeLog(true);
+        changeLog.recordSaved(new Customer(1L, "John", "Doe", null, CREATED, CREATED));
+        changeLog.recordSaved(new Customer(2L, "Jane", "Smith", null, CREATED, CREATED));
+        changeLog.destroy();
+
+        Path segment = changeLog.segmentsBetween(0, Long.MAX_VALUE).get(0);
+        flipLastByte(segment);
+        List<String> replayed = new ArrayList<>();
+
+        assertEquals(1, replay(List.of(segment), replayed));
+        assertEquals(List.of("saved 1 John"), replayed);
+    }
+
+    @Test
+    @DisplayName("Change log: a bad checksum before the last entry fails the replay")
+    void replay_FailsOnCorruptionBeforeTail() throws IOException {
+        CustomerChangeLog changeLog = changeLog(true);
+        changeLog.recordSaved(new Customer(1L, "John", "Doe", null, CREATED, CREATED));
+        changeLog.recordSaved(new Customer(2L, "Jane", "Smith", null, CREATED, CREATED));
+        changeLog.destroy();
+
+        Path segment = changeLog.segmentsBetween(0, Long.MAX_VALUE).get(0);
+        // First byte after the first entry's header (length, checksum)
+        flipByte(segment, 8);
+
+        assertThrows(IOException.class, () -> replay(List.of(segment), new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Change log: rotation starts a new segment and old ones can be dropped")
+    void rotate_StartsNewSegment() throws IOException {
+        CustomerChangeLog changeLog = changeLog(true);
+        long first = changeLog.currentSegment();
+
+        assertEquals(first, changeLog.rotate());
+        assertEquals(first + 1, changeLog.currentSegment());
+        assertEquals(1, changeLog.segmentsBetween(0, changeLog.currentSegment()).size());
+
+        changeLog.deleteThrough(first);
+        assertTrue(changeLog.segmentsBetween(0, changeLog.currentSegment()).isEmpty());
+        changeLog.destroy();
+
+        // A restarted log continues after the newest segment on disk
+        assertEquals(first + 2, changeLog(true).currentSegment());
+    }
+
+    @Test
+    @DisplayName("Change log: does nothing when durability is disabled")
+    void disabled_WritesNothing() {
+        CustomerChangeLog changeLog = changeLog(false);
+        changeLog.recordSaved(new Customer(1L, "John", "Doe", null, CREATED, CREATED));
+
+        assertTrue(changeLog.segmentsBetween(0, Long.MAX_VALUE).isEmpty());
+    }
+
+    private static void flipLastByte(Path segment) throws IOException {
+        flipByte(segment, Files.size(segment) - 1);
+    }
+
+    private static void flipByte(Path segment, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer value = ByteBuffer.allocate(1);
+            channel.read(value, position);
+            value.put(0, (byte) (value.get(0) ^ 0xFF));
+            channel.write(value.flip(), position);
+        }
+    }
+
+    private static long replay(List<Path> segments, List<String> replayed) throws IOException {
+        long entries = 0;
+        for (Path segment : segments) {
+            entries += CustomerChangeLog.replay(segment, new CustomerChangeLog.Visitor() {
+                @Override
+                public void saved(CustomerRecord record) {
+                    replayed.add("saved " + record.id() + " " + record.firstName());
+                }
+
+                @Override
+                public void archived(long id, LocalDateTime archivedAt) {
+                    replayed.add("archived " + id + " " + archivedAt);
+                }
+            });
+        }
+        return entries;
+    }
+}
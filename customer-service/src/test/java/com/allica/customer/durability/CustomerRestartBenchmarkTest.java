@@ -0,0 +1,123 @@
+package com.allica.customer.durability;
+
+import com.allica.customer.sharding.CustomerShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with ./gradlew benchmark, e.g. ./gradlew benchmark -Pbenchmark.restart.customers=1000000,10000000
+//
+// Compares the time from "process has a fresh database" to "first page can be served":
+// snapshot restore into in-memory H2 (schema, mmap snapshot load, first page) against
+// reopening a populated H2 file database (open, count, first page).
+@Tag("benchmark")
+class CustomerRestartBenchmarkTest {
+
+    private static final long[] CUSTOMER_COUNTS = Arrays.stream(
+                    System.getProperty("benchmark.restart.customers", "1000000").split(","))
+            .mapToLong(value -> Long.parseLong(value.trim()))
+            .toArray();
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final String FIRST_PAGE = "select id, first_name, last_name from customers order by id limit 20";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Benchmark: restart time of snapshot restore vs H2 file mode")
+    void compareRestartTime() throws IOException {
+        System.out.printf("%12s %12s %14s %16s %16s%n",
+                "customers", "snapshot MB", "snapshot write", "snapshot restore", "H2 file reopen");
+        for (long customers : CUSTOMER_COUNTS) {
+            Path snapshotDirectory = Files.createDirectories(directory.resolve("snapshot-" + customers));
+            long started = System.nanoTime();
+            Path snapshot = writeSnapshot(snapshotDirectory, customers);
+            long writeMillis = millisSince(started);
+
+            // Fast restart: empty in-memory database, schema, snapshot bulk load
+            SingleConnectionDataSource memory = dataSource("jdbc:h2:mem:restart-" + customers);
+            started = System.nanoTime();
+            createSchema(memory);
+            load(memory, snapshot);
+            new JdbcTemplate(memory).queryForList(FIRST_PAGE);
+            long restoreMillis = millisSince(started);
+            assertEquals(customers, count(memory));
+            shutdown(memory);
+
+            // H2 file mode: populate once (not timed), close cleanly, then time the reopen
+            String fileUrl = "jdbc:h2:file:" + directory.resolve("h2-" + customers).toAbsolutePath();
+            SingleConnectionDataSource populate = dataSource(fileUrl);
+            createSchema(populate);
+            load(populate, snapshot);
+            shutdown(populate);
+
+            started = System.nanoTime();
+            SingleConnectionDataSource reopened = dataSource(fileUrl);
+            assertEquals(customers, count(reopened));
+            new JdbcTemplate(reopened).queryForList(FIRST_PAGE);
+            long reopenMillis = millisSince(started);
+            shutdown(reopened);
+
+            System.out.printf("%,12d %12.1f %12d ms %13d ms %13d ms%n",
+                    customers, Files.size(snapshot) / 1048576.0, writeMillis, restoreMillis, reopenMillis);
+        }
+    }
+
+    private static Path writeSnapshot(Path snapshotDirectory, long customers) throws IOException {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 10, 0);
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.writer(snapshotDirectory, 1)) {
+            for (long i = 1; i <= customers; i++) {
+                writer.write(new CustomerRecord(i, "First" + i, "Last" + i,
+                        LocalDate.of(1950, 1, 1).plusDays(i % 20_000),
+                        created.plusSeconds(i), created.plusSeconds(i), null));
+            }
+            return writer.commit();
+        }
+    }
+
+    private static void load(SingleConnectionDataSource dataSource, Path snapshot) throws IOException {
+        CustomerBulkLoader loader = new CustomerBulkLoader(new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                CustomerShardRouter.singleShard(), LOAD_BATCH_SIZE);
+        CustomerSnapshotFile.read(snapshot, loader::insert);
+        loader.flush();
+    }
+
+    private static SingleConnectionDataSource dataSource(String url) {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url, "sa", "", true);
+        dataSource.setAutoCommit(true);
+        return dataSource;
+    }
+
+    private static void createSchema(SingleConnectionDataSource dataSource) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql")).execute(dataSource);
+    }
+
+    private static long count(SingleConnectionDataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("select count(*) from customers", Long.class);
+    }
+
+    private static void shutdown(SingleConnectionDataSource dataSource) {
+        new JdbcTemplate(dataSource).execute("shutdown");
+        dataSource.destroy();
+    }
+
+    private static long millisSince(long started) {
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+}
@@ -0,0 +1,66 @@
+package com.allica.customer.durability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerSnapshotFileTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Snapshot: records round-trip through the binary format, nulls and archive tier included")
+    void writeAndRead_RoundTrip() throws IOException {
+        List<CustomerRecord> records = List.of(
+                new CustomerRecord(1L, "John", "Doe", LocalDate.of(1990, 1, 1),
+                        LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_000),
+                        LocalDateTime.of(2024, 1, 2, 10, 0), null),
+                new CustomerRecord(2L, "Zoë", null, null,
+                        LocalDateTime.of(2020, 5, 1, 0, 0), LocalDateTime.of(2020, 5, 1, 0, 0),
+                        LocalDateTime.of(2024, 6, 1, 12, 30))
+        );
+
+        Path written;
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.writer(directory, 7)) {
+            records.forEach(record -> {
+                try {
+                    writer.write(record);
+                } catch (IOException ex) {
+                    throw new AssertionError(ex);
+                }
+            });
+            written = writer.commit();
+        }
+        List<CustomerRecord> read = new ArrayList<>();
+        long count = CustomerSnapshotFile.read(written, read::add);
+
+        assertEquals(2, count);
+        assertEquals(records, read);
+        assertEquals(7, CustomerSnapshotFile.lastSegmentOf(written));
+        assertEquals(written, CustomerSnapshotFile.latest(directory).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Snapshot: an uncommitted writer leaves no snapshot behind")
+    void uncommittedWriter_LeavesNothing() throws IOException {
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.writer(directory, 3)) {
+            writer.write(new CustomerRecord(1L, "John", "Doe", null,
+                    LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(2024, 1, 1, 10, 0), null));
+        }
+
+        assertTrue(CustomerSnapshotFile.latest(directory).isEmpty());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.allica.customer.durability;
+
+import com.allica.customer.entity.Customer;
+import com.allica.customer.sharding.CustomerShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerSnapshotServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final LocalDateTime ARCHIVED_AT = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    private Path directory;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DurabilityProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:restore-" + UUID.randomUUID(), "sa", "", true);
+        dataSource.setAutoCommit(true);
+        new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        properties = new DurabilityProperties(true, directory, Duration.ofMinutes(5), false, false, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Snapshot service: restore loads the snapshot, then replays saves and archive moves")
+    void restore_SnapshotPlusChangeLog() throws IOException {
+        writeSnapshotAndLog();
+        CustomerChangeLog changeLog = new CustomerChangeLog(properties, new SimpleMeterRegistry());
+
+        long applied = service(changeLog, event -> { }).restore();
+        changeLog.destroy();
+
+        assertEquals(3 + 3, applied);
+        assertEquals(List.of(1L, 3L), jdbcTemplate.queryForList("select id from customers order by id", Long.class));
+        assertEquals("Johnny", jdbcTemplate.queryForObject("select first_name from customers where id = 1", String.class));
+        assertEquals(List.of(2L, 4L),
+                jdbcTemplate.queryForList("select id from archived_customers order by id", Long.class));
+        assertEquals(ARCHIVED_AT, jdbcTemplate.queryForObject(
+                "select archived_at from archived_customers where id = 2", LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Snapshot service: refuses traffic and holds writes back until the restore has finished")
+    void run_ReadinessTransition() throws IOException {
+        writeSnapshotAndLog();
+        CustomerChangeLog changeLog = new CustomerChangeLog(properties, new SimpleMeterRegistry());
+        List<Object> states = new ArrayList<>();
+        List<Boolean> awaitingWhenPublished = new ArrayList<>();
+        CustomerSnapshotService service = service(changeLog, event -> {
+            states.add(((AvailabilityChangeEvent<?>) event).getState());
+            awaitingWhenPublished.add(changeLog.awaitingRestore());
+        });
+
+        assertTrue(changeLog.awaitingRestore());
+        assertFalse(service.restored());
+
+        service.run(null);
+        changeLog.destroy();
+
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC), states);
+        assertEquals(List.of(true), awaitingWhenPublished);
+        assertTrue(service.restored());
+        assertFalse(changeLog.awaitingRestore());
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from customers", Long.class));
+    }
+
+    // Snapshot covering segment 1 with customers 1 and 2 and archived customer 4, then a log
+    // segment that renames 1, adds 3 and archives 2
+    private void writeSnapshotAndLog() throws IOException {
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.writer(directory, 1)) {
+            writer.write(new CustomerRecord(1L, "John", "Doe", LocalDate.of(1990, 1, 1), CREATED, CREATED, null));
+            writer.write(new CustomerRecord(2L, "Jane", "Smith", null, CREATED, CREATED, null));
+            writer.write(new CustomerRecord(4L, "Old", "Timer", null, CREATED, CREATED, ARCHIVED_AT));
+            writer.commit();
+        }
+        CustomerChangeLog before = new CustomerChangeLog(properties, new SimpleMeterRegistry());
+        before.recordSaved(new Customer(1L, "Johnny", "Doe", LocalDate.of(1990, 1, 1), CREATED, CREATED.plusDays(1)));
+        before.recordSaved(new Customer(3L, "Ann", "Lee", null, CREATED, CREATED));
+        before.recordArchived(List.of(2L), ARCHIVED_AT);
+        before.destroy();
+    }
+
+    private CustomerSnapshotService service(CustomerChangeLog changeLog, ApplicationEventPublisher eventPublisher) {
+        return new CustomerSnapshotService(properties, changeLog, jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                CustomerShardRouter.singleShard(), eventPublisher, new SimpleMeterRegistry());
+    }
+}
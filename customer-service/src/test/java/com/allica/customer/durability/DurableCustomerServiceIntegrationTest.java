@@ -0,0 +1,59 @@
+package com.allica.customer.durability;
+
+import com.allica.customer.CustomerServiceApplication;
+import com.allica.customer.dto.CustomerRequestDTO;
+import com.allica.customer.service.CustomerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Starts the application the way the README does (dev,durable) so the context can be closed
+// inside the test, which is what triggers the shutdown snapshot
+class DurableCustomerServiceIntegrationTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Durable: closing the context commits a snapshot holding every saved customer")
+    void close_CommitsShutdownSnapshot() throws IOException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CustomerServiceApplication.class)
+                .profiles("dev", "durable")
+                .properties("server.port=0",
+                        "app.durability.directory=" + directory,
+                        "app.durability.snapshot-interval=PT1H")
+                .run();
+        Long id;
+        try {
+            id = context.getBean(CustomerService.class)
+                    .saveCustomer(new CustomerRequestDTO("Ann", "Lee", LocalDate.of(1990, 1, 1)))
+                    .id();
+        } finally {
+            context.close();
+        }
+
+        Path snapshot = CustomerSnapshotFile.latest(directory).orElseThrow();
+        List<CustomerRecord> rows = new ArrayList<>();
+        CustomerSnapshotFile.read(snapshot, rows::add);
+        assertEquals(List.of(id), rows.stream().map(CustomerRecord::id).toList());
+        assertEquals("Ann", rows.get(0).firstName());
+    }
+
+    @Test
+    @DisplayName("Durable: refuses an in-memory H2 URL that closes before the shutdown snapshot")
+    void requireOpenOnExit_RejectsDefaultH2Url() {
+        assertThrows(IllegalStateException.class,
+                () -> DurabilityConfig.requireOpenOnExit("jdbc:h2:mem:customerdb"));
+        assertDoesNotThrow(() -> DurabilityConfig.requireOpenOnExit("jdbc:h2:mem:customerdb;DB_CLOSE_ON_EXIT=FALSE"));
+        assertDoesNotThrow(() -> DurabilityConfig.requireOpenOnExit(""));
+    }
+}
@@ -0,0 +1,155 @@
+package com.allica.customer.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replica1Connection;
+
+    @Mock
+    private Connection replica2Connection;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReplicaRoutingDataSource(
+                primary, List.of(replica1, replica2), new ReadYourWritesTracker(Duration.ofMinutes(1)));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ReadYourWritesTracker.CLIENT_ID_HEADER, "client-a");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Routing: read-only transactions should round-robin across replicas")
+    void readOnly_UsesReplicas() throws SQLException {
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replica1Connection, routing.getConnection());
+        assertSame(replica2Connection, routing.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Routing: reads after the client's own write should stick to the primary")
+    void readAfterWrite_StaysOnPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routing.getConnection());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    @DisplayName("Routing: failing replicas should fail over to the primary")
+    void replicaFailure_FailsOverToPrimary() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+        when(replica2.getConnection()).thenThrow(new SQLException("down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(0, routing.healthyReplicaCount());
+    }
+
+    @Test
+    @DisplayName("Routing: explicit credentials should be passed to the routed datasource")
+    void credentials_DelegatedToTarget() throws SQLException {
+        when(replica1.getConnection("reader", "secret")).thenReturn(replica1Connection);
+        when(primary.getConnection("writer", "secret")).thenReturn(primaryConnection);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replica1Connection, routing.getConnection("reader", "secret"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertSame(primaryConnection, routing.getConnection("writer", "secret"));
+    }
+
+    @Test
+    @DisplayName("Routing: clients without X-Client-Id are not pinned to the primary by default")
+    void anonymousClient_NotTracked() throws SQLException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+
+        assertSame(primaryConnection, routing.getConnection());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    @DisplayName("Health: replicas are judged by the replicated heartbeat, not by data timestamps")
+    void refreshHealth_UsesHeartbeat() {
+        DataSource primaryDb = new DriverManagerDataSource("jdbc:h2:mem:heartbeat-primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource replicaDb = new DriverManagerDataSource("jdbc:h2:mem:heartbeat-replica;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql")).execute(replicaDb);
+        ReplicaRoutingDataSource route = new ReplicaRoutingDataSource(
+                primaryDb, List.of(replicaDb), new ReadYourWritesTracker(Duration.ofMinutes(1)));
+
+        // No heartbeat has reached the replica yet
+        route.refreshHealth(Duration.ofSeconds(2));
+        assertEquals(0, route.healthyReplicaCount());
+
+        // "Replicate" the primary's latest heartbeat
+        Timestamp beat = new JdbcTemplate(primaryDb)
+                .queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Timestamp.class);
+        new JdbcTemplate(replicaDb).update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", beat);
+        route.refreshHealth(Duration.ofMinutes(1));
+        assertEquals(1, route.healthyReplicaCount());
+
+        // The replica stops replicating; no customer data changes, but the heartbeat moves on
+        new JdbcTemplate(replicaDb).update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1",
+                Timestamp.from(Instant.now().minusSeconds(60)));
+        route.refreshHealth(Duration.ofSeconds(2));
+        assertEquals(0, route.healthyReplicaCount());
+    }
+}
@@ -0,0 +1,106 @@
+package com.allica.customer.service;
+
+import com.allica.customer.durability.CustomerChangeLog;
+import com.allica.customer.repository.ArchivedCustomerRepository;
+import com.allica.customer.repository.CustomerRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerArchiveServiceTest {
+
+    @Mock
+    private CustomerRepository repository;
+
+    @Mock
+    private ArchivedCustomerRepository archivedRepository;
+
+    @Mock
+    private CustomerPagePrefetcher pagePrefetcher;
+
+    @Mock
+    private CustomerChangeLog changeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CustomerArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        archiveService = new CustomerArchiveService(
+                repository,
+                archivedRepository,
+                CustomerShardRouter.singleShard(),
+                pagePrefetcher,
+                changeLog,
+                new TransactionTemplate(transactionManager),
+                meterRegistry,
+                true,
+                Duration.ofDays(365),
+                2
+        );
+    }
+
+    @Test
+    @DisplayName("Archive: should move inactive customers in batches until a short batch")
+    void archiveInactiveCustomers_MovesInBatches() {
+        when(repository.findIdsNotUpdatedSince(any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        long moved = archiveService.archiveInactiveCustomers();
+
+        assertEquals(3, moved);
+        verify(archivedRepository).copyFromHotTier(eq(List.of(1L, 2L)), any());
+        verify(repository).deleteByIdIn(List.of(1L, 2L));
+        verify(archivedRepository).copyFromHotTier(eq(List.of(3L)), any());
+        verify(repository).deleteByIdIn(List.of(3L));
+        verify(changeLog).recordArchived(eq(List.of(1L, 2L)), any());
+        verify(changeLog).recordArchived(eq(List.of(3L)), any());
+        verify(pagePrefetcher).invalidateAll();
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3.0, meterRegistry.get("customers.archive.moved").counter().count());
+    }
+
+    @Test
+    @DisplayName("Archive: should leave the prefetch cache alone when nothing is inactive")
+    void archiveInactiveCustomers_NothingToMove() {
+        when(repository.findIdsNotUpdatedSince(any(), any())).thenReturn(Collections.emptyList());
+
+        assertEquals(0, archiveService.archiveInactiveCustomers());
+        verify(archivedRepository, never()).copyFromHotTier(any(), any());
+        verify(changeLog, never()).recordArchived(any(), any());
+        verifyNoInteractions(pagePrefetcher);
+    }
+
+    @Test
+    @DisplayName("Archive: scheduled run should wait until a snapshot restore has finished")
+    void scheduledRun_SkippedWhileRestoring() {
+        when(changeLog.awaitingRestore()).thenReturn(true);
+
+        archiveService.scheduledRun();
+
+        verifyNoInteractions(repository, archivedRepository, transactionManager);
+    }
+}
@@ -0,0 +1,84 @@
+package com.allica.customer.service;
+
+import com.allica.customer.entity.Customer;
+import com.allica.customer.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with ./gradlew benchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "app.audit.relay-interval=PT1H")
+class CustomerAuditOverheadBenchmarkTest {
+
+    private static final int WARMUP_WRITES = 2_000;
+    private static final int MEASURED_WRITES = 10_000;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerAuditService auditService;
+
+    @Autowired
+    private CustomerAuditRelay auditRelay;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Benchmark: customer write latency with the audit outbox vs the no-audit baseline")
+    void compareWriteLatency() {
+        write(false, WARMUP_WRITES);
+        write(true, WARMUP_WRITES);
+
+        long[] baseline = write(false, MEASURED_WRITES);
+        long[] audited = write(true, MEASURED_WRITES);
+
+        System.out.printf("%,d writes%n", MEASURED_WRITES);
+        System.out.printf("  no audit: p50 %,d us, p99 %,d us%n", percentile(baseline, 50), percentile(baseline, 99));
+        System.out.printf("  outbox:   p50 %,d us, p99 %,d us (%.0f%% of baseline p50)%n",
+                percentile(audited, 50), percentile(audited, 99),
+                100.0 * percentile(audited, 50) / Math.max(1, percentile(baseline, 50)));
+
+        long started = System.nanoTime();
+        long relayed = auditRelay.relay();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("  relay:    %,d events in %.2f s (%,.0f events/s)%n", relayed, seconds, relayed / seconds);
+
+        assertEquals(WARMUP_WRITES + MEASURED_WRITES, relayed);
+    }
+
+    // Same transaction shape as CustomerService.saveCustomer, with or without the outbox row
+    private long[] write(boolean audit, int count) {
+        long[] micros = new long[count];
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer();
+            customer.setFirstName("First" + i);
+            customer.setLastName("Last" + i);
+            customer.setDateOfBirth(LocalDate.of(1970, 1, 1).plusDays(i % 20_000));
+            long started = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                Customer saved = customerRepository.save(customer);
+                if (audit) {
+                    auditService.recordCreated(saved);
+                }
+            });
+            micros[i] = (System.nanoTime() - started) / 1_000;
+        }
+        return micros;
+    }
+
+    private static long percentile(long[] values, int percentile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+}
@@ -0,0 +1,75 @@
+package com.allica.customer.service;
+
+import com.allica.customer.entity.CustomerEventType;
+import com.allica.customer.entity.CustomerHistory;
+import com.allica.customer.entity.CustomerOutboxEvent;
+import com.allica.customer.repository.CustomerHistoryRepository;
+import com.allica.customer.repository.CustomerOutboxRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The scheduled relay is pushed out of the way so only the two relays started here run
+@SpringBootTest(properties = {"app.audit.relay-interval=PT1H", "app.audit.relay-batch-size=25"})
+class CustomerAuditRelayConcurrencyTest {
+
+    private static final int EVENTS = 1_000;
+
+    @Autowired
+    private CustomerAuditRelay relay;
+
+    @Autowired
+    private CustomerOutboxRepository outboxRepository;
+
+    @Autowired
+    private CustomerHistoryRepository historyRepository;
+
+    @Test
+    @DisplayName("Relay: two relays running at once move every event into history exactly once")
+    void concurrentRelays_NoDuplicates() throws Exception {
+        List<CustomerOutboxEvent> events = new ArrayList<>();
+        LocalDateTime occurredAt = LocalDateTime.now();
+        for (long customerId = 1; customerId <= EVENTS; customerId++) {
+            events.add(new CustomerOutboxEvent(null, customerId, CustomerEventType.CREATED,
+                    "First" + customerId, "Last" + customerId, LocalDate.of(1990, 1, 1), occurredAt));
+        }
+        outboxRepository.saveAll(events);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<Long> first = pool.submit(() -> {
+                start.await();
+                return relay.relay();
+            });
+            Future<Long> second = pool.submit(() -> {
+                start.await();
+                return relay.relay();
+            });
+            start.countDown();
+
+            assertEquals(EVENTS, first.get(1, TimeUnit.MINUTES) + second.get(1, TimeUnit.MINUTES));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(0, outboxRepository.count());
+        List<Long> relayedCustomerIds = historyRepository.findAll().stream()
+                .map(CustomerHistory::getCustomerId)
+                .toList();
+        assertEquals(EVENTS, relayedCustomerIds.size());
+        assertEquals(EVENTS, relayedCustomerIds.stream().distinct().count());
+    }
+}
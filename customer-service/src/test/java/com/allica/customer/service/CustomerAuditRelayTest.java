@@ -0,0 +1,129 @@
+package com.allica.customer.service;
+
+import com.allica.customer.repository.CustomerHistoryRepository;
+import com.allica.customer.repository.CustomerOutboxRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerAuditRelayTest {
+
+    @Mock
+    private CustomerOutboxRepository outboxRepository;
+
+    @Mock
+    private CustomerHistoryRepository historyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CustomerAuditRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new CustomerAuditRelay(
+                outboxRepository,
+                historyRepository,
+                CustomerShardRouter.singleShard(),
+                new TransactionTemplate(transactionManager),
+                meterRegistry,
+                true,
+                2
+        );
+    }
+
+    @Test
+    @DisplayName("Should drain the outbox in batches, appending to history before deleting")
+    void relay_DrainsOutboxInBatches() {
+        when(outboxRepository.findOldestOccurredAt()).thenReturn(LocalDateTime.now().minusSeconds(5));
+        when(outboxRepository.findNextBatchIds(2))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(historyRepository.appendFromOutbox(List.of(1L, 2L))).thenReturn(2);
+        when(outboxRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(historyRepository.appendFromOutbox(List.of(3L))).thenReturn(1);
+        when(outboxRepository.deleteByIdIn(List.of(3L))).thenReturn(1);
+
+        long relayed = relay.relay();
+
+        assertEquals(3, relayed);
+        InOrder inOrder = inOrder(historyRepository, outboxRepository);
+        inOrder.verify(historyRepository).appendFromOutbox(List.of(1L, 2L));
+        inOrder.verify(outboxRepository).deleteByIdIn(List.of(1L, 2L));
+        inOrder.verify(historyRepository).appendFromOutbox(List.of(3L));
+        inOrder.verify(outboxRepository).deleteByIdIn(List.of(3L));
+        // One transaction for the oldest-event check, then one per batch
+        verify(transactionManager, times(3)).commit(any());
+
+        assertEquals(3.0, meterRegistry.get("customers.audit.relay.events").counter().count());
+        assertEquals(2, meterRegistry.get("customers.audit.relay.batch.size").summary().count());
+        assertTrue(meterRegistry.get("customers.audit.relay.lag").timeGauge()
+                .value(TimeUnit.SECONDS) >= 4);
+    }
+
+    @Test
+    @DisplayName("Should check the outbox on the primary and not relay when it is empty")
+    void relay_EmptyOutbox() {
+        when(outboxRepository.findOldestOccurredAt()).thenReturn(null);
+
+        assertEquals(0, relay.relay());
+
+        // A read-write transaction is routed to the primary, never to a possibly lagging replica
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        verify(transactionManager, times(1)).commit(any());
+        verify(outboxRepository, never()).findNextBatchIds(anyInt());
+        verifyNoInteractions(historyRepository);
+        assertEquals(0.0, meterRegistry.get("customers.audit.relay.lag").timeGauge()
+                .value(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should stop after a short batch")
+    void relay_StopsOnShortBatch() {
+        when(outboxRepository.findOldestOccurredAt()).thenReturn(LocalDateTime.now());
+        when(outboxRepository.findNextBatchIds(anyInt())).thenReturn(Collections.emptyList());
+
+        assertEquals(0, relay.relay());
+
+        verify(outboxRepository, times(1)).findNextBatchIds(anyInt());
+        verify(historyRepository, never()).appendFromOutbox(any());
+    }
+
+    @Test
+    @DisplayName("Should roll back a batch when the delete does not match the locked events")
+    void relay_RollsBackOnDeleteMismatch() {
+        when(outboxRepository.findOldestOccurredAt()).thenReturn(LocalDateTime.now());
+        when(outboxRepository.findNextBatchIds(2)).thenReturn(List.of(1L, 2L));
+        when(historyRepository.appendFromOutbox(List.of(1L, 2L))).thenReturn(2);
+        when(outboxRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> relay.relay());
+
+        verify(transactionManager).rollback(any());
+        // Only the oldest-event check committed
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(0.0, meterRegistry.get("customers.audit.relay.events").counter().count());
+    }
+}
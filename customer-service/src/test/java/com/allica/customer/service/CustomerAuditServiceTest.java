@@ -0,0 +1,124 @@
+package com.allica.customer.service;
+
+import com.allica.customer.dto.CustomerHistoryDTO;
+import com.allica.customer.entity.Customer;
+import com.allica.customer.entity.CustomerEventType;
+import com.allica.customer.entity.CustomerHistory;
+import com.allica.customer.entity.CustomerOutboxEvent;
+import com.allica.customer.exception.CustomerNotFoundException;
+import com.allica.customer.mapper.CustomerMapper;
+import com.allica.customer.repository.ArchivedCustomerRepository;
+import com.allica.customer.repository.CustomerHistoryRepository;
+import com.allica.customer.repository.CustomerOutboxRepository;
+import com.allica.customer.repository.CustomerRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerAuditServiceTest {
+
+    @Mock
+    private CustomerOutboxRepository outboxRepository;
+
+    @Mock
+    private CustomerHistoryRepository historyRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private ArchivedCustomerRepository archivedRepository;
+
+    private final CustomerMapper customerMapper = new CustomerMapper();
+
+    private CustomerAuditService auditService(boolean enabled) {
+        return new CustomerAuditService(
+                outboxRepository,
+                historyRepository,
+                customerRepository,
+                archivedRepository,
+                customerMapper,
+                CustomerShardRouter.singleShard(),
+                new SimpleMeterRegistry(),
+                enabled
+        );
+    }
+
+    @Test
+    @DisplayName("Should write a snapshot of the customer to the outbox")
+    void recordCreated_WritesOutboxEvent() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Customer customer = new Customer(1L, "John", "Doe", LocalDate.of(1990, 1, 1), createdAt, createdAt);
+
+        auditService(true).recordCreated(customer);
+
+        ArgumentCaptor<CustomerOutboxEvent> captor = ArgumentCaptor.forClass(CustomerOutboxEvent.class);
+        verify(outboxRepository).save(captor.capture());
+        CustomerOutboxEvent event = captor.getValue();
+        assertNull(event.getId());
+        assertEquals(1L, event.getCustomerId());
+        assertEquals(CustomerEventType.CREATED, event.getEventType());
+        assertEquals("John", event.getFirstName());
+        assertEquals(createdAt, event.getOccurredAt());
+    }
+
+    @Test
+    @DisplayName("Should skip the outbox when auditing is disabled")
+    void recordCreated_Disabled() {
+        auditService(false).recordCreated(new Customer());
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    @DisplayName("Should return history entries oldest first")
+    void getHistory_ReturnsEntries() {
+        LocalDateTime occurredAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(historyRepository.findByCustomerIdOrderByIdAsc(1L)).thenReturn(List.of(
+                new CustomerHistory(7L, 1L, CustomerEventType.CREATED, "John", "Doe",
+                        LocalDate.of(1990, 1, 1), occurredAt, occurredAt.plusSeconds(1))
+        ));
+
+        List<CustomerHistoryDTO> history = auditService(true).getHistory(1L);
+
+        assertEquals(1, history.size());
+        assertEquals("CREATED", history.get(0).eventType());
+        assertEquals(occurredAt.plusSeconds(1), history.get(0).recordedAt());
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    @DisplayName("Should return an empty history for a customer whose events are not relayed yet")
+    void getHistory_NotRelayedYet() {
+        when(historyRepository.findByCustomerIdOrderByIdAsc(1L)).thenReturn(Collections.emptyList());
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        assertTrue(auditService(true).getHistory(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should throw CustomerNotFoundException for an unknown customer")
+    void getHistory_UnknownCustomer() {
+        when(historyRepository.findByCustomerIdOrderByIdAsc(99L)).thenReturn(Collections.emptyList());
+        when(customerRepository.existsById(99L)).thenReturn(false);
+        when(archivedRepository.existsById(99L)).thenReturn(false);
+
+        CustomerAuditService service = auditService(true);
+        assertThrows(CustomerNotFoundException.class, () -> service.getHistory(99L));
+        verify(outboxRepository, never()).save(any());
+    }
+}
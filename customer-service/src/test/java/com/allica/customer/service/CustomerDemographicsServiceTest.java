@@ -0,0 +1,102 @@
+package com.allica.customer.service;
+
+import com.allica.customer.dto.CustomerDemographicsResponse;
+import com.allica.customer.entity.Customer;
+import com.allica.customer.repository.ArchivedCustomerRepository;
+import com.allica.customer.repository.CustomerRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerDemographicsServiceTest {
+
+    @Mock
+    private CustomerRepository repository;
+
+    @Mock
+    private ArchivedCustomerRepository archivedRepository;
+
+    @Spy
+    private CustomerShardRouter shardRouter = CustomerShardRouter.singleShard();
+
+    @InjectMocks
+    private CustomerDemographicsService demographicsService;
+
+    @Test
+    @DisplayName("Should report stale empty aggregates before the first reconciliation")
+    void getDemographics_BeforeReconcile() {
+        CustomerDemographicsResponse result = demographicsService.getDemographics();
+
+        assertEquals(0, result.totalCount());
+        assertTrue(result.byBirthYear().isEmpty());
+        assertNull(result.lastReconciledAt());
+        assertTrue(result.stale());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should build counters from DB aggregates on reconcile")
+    void reconcile_LoadsCountersFromRepository() {
+        LocalDate adultBirthday = LocalDate.now().minusYears(30);
+        LocalDate childBirthday = LocalDate.now().minusYears(10);
+        when(repository.countGroupedByDateOfBirth()).thenReturn(List.of(
+                new Object[]{adultBirthday, 3L},
+                new Object[]{childBirthday, 1L}
+        ));
+        when(repository.countGroupedBySignupMonth()).thenReturn(List.<Object[]>of(
+                new Object[]{2024, 1, 3L}
+        ));
+        when(archivedRepository.countGroupedBySignupMonth()).thenReturn(List.<Object[]>of(
+                new Object[]{2024, 1, 1L}
+        ));
+
+        demographicsService.reconcile();
+        CustomerDemographicsResponse result = demographicsService.getDemographics();
+
+        assertEquals(4, result.totalCount());
+        assertEquals(3L, result.byBirthYear().get(adultBirthday.getYear()));
+        assertEquals(3L, result.byAgeBand().get("25-34"));
+        assertEquals(1L, result.byAgeBand().get("0-17"));
+        assertEquals(4L, result.bySignupMonth().get("2024-01"));
+        assertNotNull(result.lastReconciledAt());
+        assertFalse(result.stale());
+    }
+
+    @Test
+    @DisplayName("Should update counters incrementally on write without querying the DB")
+    void recordCreated_IncrementsCounters() {
+        when(repository.countGroupedByDateOfBirth()).thenReturn(Collections.emptyList());
+        when(repository.countGroupedBySignupMonth()).thenReturn(Collections.emptyList());
+        demographicsService.reconcile();
+
+        Customer customer = new Customer(
+                1L,
+                "John",
+                "Doe",
+                LocalDate.of(1990, 1, 1),
+                LocalDateTime.of(2024, 3, 1, 10, 0),
+                LocalDateTime.of(2024, 3, 1, 10, 0)
+        );
+        demographicsService.recordCreated(customer);
+        CustomerDemographicsResponse result = demographicsService.getDemographics();
+
+        assertEquals(1, result.totalCount());
+        assertEquals(1L, result.byBirthYear().get(1990));
+        assertEquals(1L, result.bySignupMonth().get("2024-03"));
+        verify(repository, times(1)).countGroupedByDateOfBirth();
+        verify(repository, times(1)).countGroupedBySignupMonth();
+    }
+}
@@ -0,0 +1,110 @@
+package com.allica.customer.service;
+
+import com.allica.customer.dto.CustomerPageResponse;
+import com.allica.customer.dto.PageInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerPagePrefetcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CustomerPagePrefetcher prefetcher = new CustomerPagePrefetcher(
+            meterRegistry, true, 4, Duration.ofMinutes(1), Duration.ofMillis(100), Duration.ofMillis(200), 1, 4);
+
+    @AfterEach
+    void tearDown() {
+        prefetcher.destroy();
+    }
+
+    @Test
+    @DisplayName("Prefetch: a prefetched page should be served once and counted as a hit")
+    void prefetchThenTake_Hit() {
+        CustomerPageResponse page = page(20L);
+        AtomicInteger loads = new AtomicInteger();
+
+        prefetcher.prefetch(10L, 10, () -> {
+            loads.incrementAndGet();
+            return page;
+        });
+
+        assertSame(page, prefetcher.take(10L, 10).orElseThrow());
+        assertTrue(prefetcher.take(10L, 20).isEmpty(), "Page size is part of the key");
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("customers.prefetch.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("customers.prefetch.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Prefetch: writes above a cursor should invalidate its page")
+    void invalidateFrom_DropsAffectedPages() {
+        prefetcher.prefetch(10L, 10, () -> page(20L));
+        prefetcher.prefetch(30L, 10, () -> page(40L));
+
+        prefetcher.invalidateFrom(25L);
+
+        assertTrue(prefetcher.take(10L, 10).isEmpty());
+        assertTrue(prefetcher.take(30L, 10).isPresent());
+    }
+
+    @Test
+    @DisplayName("Prefetch: should back off while page loads are slow")
+    void prefetch_BacksOffUnderPressure() {
+        prefetcher.recordLoad(Duration.ofSeconds(1).toNanos());
+
+        prefetcher.prefetch(10L, 10, () -> page(20L));
+
+        assertTrue(prefetcher.take(10L, 10).isEmpty());
+        assertEquals(1.0, meterRegistry.get("customers.prefetch.skipped").tag("reason", "db_pressure").counter().count());
+    }
+
+    @Test
+    @DisplayName("Prefetch: a load still running after the take timeout should count as a miss")
+    void take_TimesOutOnSlowLoad() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        prefetcher.prefetch(10L, 10, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return page(20L);
+        });
+
+        try {
+            assertTrue(prefetcher.take(10L, 10).isEmpty());
+            assertEquals(1.0, meterRegistry.get("customers.prefetch.requests").tag("result", "miss").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Prefetch: expired entries should be removed from the cache")
+    void take_RemovesExpiredEntries() throws InterruptedException {
+        SimpleMeterRegistry shortLivedRegistry = new SimpleMeterRegistry();
+        CustomerPagePrefetcher shortLived = new CustomerPagePrefetcher(
+                shortLivedRegistry, true, 4, Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(200), 1, 4);
+        try {
+            shortLived.prefetch(10L, 10, () -> page(20L));
+            Thread.sleep(100);
+
+            assertTrue(shortLived.take(10L, 10).isEmpty());
+            assertEquals(0.0, shortLivedRegistry.get("customers.prefetch.cache.size").gauge().value());
+        } finally {
+            shortLived.destroy();
+        }
+    }
+
+    private static CustomerPageResponse page(Long nextCursor) {
+        return new CustomerPageResponse(List.of(), new PageInfo(nextCursor, nextCursor, 10, true, null));
+    }
+}
@@ -0,0 +1,255 @@
+package com.allica.customer.service;
+
+import com.allica.customer.dto.CustomerPageResponse;
+import com.allica.customer.dto.CustomerRequestDTO;
+import com.allica.customer.dto.CustomerResponseDTO;
+import com.allica.customer.dto.PageInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with ./gradlew stress, e.g. ./gradlew stress -Pstress.writers=0,4,16 -Pstress.readers=8
+//
+// Writer threads create customers while reader threads walk the whole list forwards
+// (after/nextCursor) and backwards (before/prevCursor). A row whose saveCustomer call
+// returned before a walk started must appear in that walk exactly once; rows committed
+// during the walk may or may not appear, but nothing that was never committed may.
+@Tag("stress")
+@SpringBootTest
+class CustomerPaginationStressTest {
+
+    private static final int PAGE_SIZE = Integer.getInteger("stress.page-size", 50);
+    private static final int SEED_CUSTOMERS = Integer.getInteger("stress.seed", 2_000);
+    private static final int READERS = Integer.getInteger("stress.readers", 4);
+    private static final Duration PHASE = Duration.ofSeconds(Long.getLong("stress.seconds", 5));
+    private static final int[] WRITER_COUNTS = Arrays.stream(System.getProperty("stress.writers", "0,1,4,8").split(","))
+            .mapToInt(value -> Integer.parseInt(value.trim()))
+            .toArray();
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    @DisplayName("Stress: forward and backward walks stay consistent while writers insert")
+    void paginationUnderConcurrentWrites() throws Exception {
+        Queue<String> violations = new ConcurrentLinkedQueue<>();
+        Set<Long> committed = ConcurrentHashMap.newKeySet();
+        committed.addAll(walkForward(Set.of(), new ArrayList<>(), violations));
+        for (int i = 0; i < SEED_CUSTOMERS; i++) {
+            committed.add(create(i));
+        }
+
+        Set<Long> observed = ConcurrentHashMap.newKeySet();
+        System.out.printf("%s: %d readers, page size %d, %d s per phase%n",
+                getClass().getSimpleName(), READERS, PAGE_SIZE, PHASE.toSeconds());
+        System.out.printf("%8s %10s %8s %10s %8s %8s %8s %8s%n",
+                "writers", "writes/s", "walks", "pages/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (int writers : WRITER_COUNTS) {
+            runPhase(writers, committed, observed, violations);
+        }
+
+        // Everything a reader saw must have been committed by some writer
+        Set<Long> phantom = new HashSet<>(observed);
+        phantom.removeAll(committed);
+        if (!phantom.isEmpty()) {
+            violations.add("ids returned but never committed: " + sample(phantom));
+        }
+        assertTrue(violations.isEmpty(), () -> violations.size() + " violations, first: "
+                + violations.stream().limit(MAX_REPORTED_VIOLATIONS).toList());
+    }
+
+    private void runPhase(int writers, Set<Long> committed, Set<Long> observed, Queue<String> violations)
+            throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong writes = new AtomicLong();
+        AtomicLong walks = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(writers + READERS);
+        List<Future<List<Long>>> readerLatencies = new ArrayList<>();
+        List<Future<?>> writerTasks = new ArrayList<>();
+        try {
+            for (int w = 0; w < writers; w++) {
+                writerTasks.add(pool.submit(() -> {
+                    int i = 0;
+                    while (running.get()) {
+                        committed.add(create(i++));
+                        writes.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                boolean forward = r % 2 == 0;
+                readerLatencies.add(pool.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    while (running.get()) {
+                        Set<Long> committedBefore = Set.copyOf(committed);
+                        List<Long> walked = forward
+                                ? walkForward(committedBefore, latencies, violations)
+                                : walkBackward(committedBefore, latencies, violations);
+                        walked.stream().filter(id -> !committedBefore.contains(id)).forEach(observed::add);
+                        walks.incrementAndGet();
+                    }
+                    return latencies;
+                }));
+            }
+
+            long started = System.nanoTime();
+            Thread.sleep(PHASE.toMillis());
+            running.set(false);
+            for (Future<?> writer : writerTasks) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> reader : readerLatencies) {
+                latencies.addAll(reader.get(5, TimeUnit.MINUTES));
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            report(writers, writes.get() / seconds, walks.get(), latencies, seconds);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Follows nextCursor from the first page until hasNext is false
+    private List<Long> walkForward(Set<Long> committedBefore, List<Long> latencies, Queue<String> violations) {
+        List<Long> walked = new ArrayList<>();
+        Long cursor = null;
+        while (true) {
+            long started = System.nanoTime();
+            CustomerPageResponse page = customerService.getAllCustomers(cursor, null, PAGE_SIZE, false);
+            latencies.add(System.nanoTime() - started);
+
+            List<Long> ids = ids(page);
+            PageInfo info = page.pageInfo();
+            checkCursors("forward after " + cursor, ids, info, violations);
+            if (info.hasNext() && ids.size() != PAGE_SIZE) {
+                violations.add("forward after " + cursor + ": hasNext on a short page of " + ids.size());
+            }
+            walked.addAll(ids);
+            if (!info.hasNext()) {
+                break;
+            }
+            cursor = info.nextCursor();
+        }
+        checkWalk("forward", walked, committedBefore, violations);
+        return walked;
+    }
+
+    // Starts at the last page and follows prevCursor until a short page
+    private List<Long> walkBackward(Set<Long> committedBefore, List<Long> latencies, Queue<String> violations) {
+        List<List<Long>> pages = new ArrayList<>();
+        Long before = Long.MAX_VALUE;
+        while (true) {
+            long started = System.nanoTime();
+            CustomerPageResponse page = customerService.getAllCustomers(null, before, PAGE_SIZE, false);
+            latencies.add(System.nanoTime() - started);
+
+            List<Long> ids = ids(page);
+            PageInfo info = page.pageInfo();
+            checkCursors("backward before " + before, ids, info, violations);
+            // hasNext on a backward page means "rows exist at or after the before cursor"
+            boolean expectedHasNext = before != Long.MAX_VALUE;
+            if (info.hasNext() != expectedHasNext) {
+                violations.add("backward before " + before + ": hasNext=" + info.hasNext());
+            }
+            if (!ids.isEmpty() && ids.get(ids.size() - 1) >= before) {
+                violations.add("backward before " + before + ": page reaches " + ids.get(ids.size() - 1));
+            }
+            pages.add(ids);
+            if (ids.size() < PAGE_SIZE) {
+                break;
+            }
+            before = info.prevCursor();
+        }
+        List<Long> walked = new ArrayList<>();
+        for (int i = pages.size() - 1; i >= 0; i--) {
+            walked.addAll(pages.get(i));
+        }
+        checkWalk("backward", walked, committedBefore, violations);
+        return walked;
+    }
+
+    // Items ascending within the page, cursors pointing at its first and last item
+    private static void checkCursors(String where, List<Long> ids, PageInfo info, Queue<String> violations) {
+        if (ids.size() > PAGE_SIZE) {
+            violations.add(where + ": " + ids.size() + " items");
+        }
+        for (int i = 1; i < ids.size(); i++) {
+            if (ids.get(i) <= ids.get(i - 1)) {
+                violations.add(where + ": items out of order at " + ids.get(i));
+            }
+        }
+        Long first = ids.isEmpty() ? null : ids.get(0);
+        Long last = ids.isEmpty() ? null : ids.get(ids.size() - 1);
+        if (!Objects.equals(info.prevCursor(), first) || !Objects.equals(info.nextCursor(), last)) {
+            violations.add(where + ": cursors " + info.prevCursor() + ".." + info.nextCursor()
+                    + " for items " + first + ".." + last);
+        }
+    }
+
+    // Whole walk in ascending order: no duplicates, and no committed-before row skipped
+    private static void checkWalk(String direction, List<Long> ascending, Set<Long> committedBefore,
+                                  Queue<String> violations) {
+        for (int i = 1; i < ascending.size(); i++) {
+            if (ascending.get(i) <= ascending.get(i - 1)) {
+                violations.add(direction + " walk: duplicate or reordered id " + ascending.get(i));
+            }
+        }
+        Set<Long> missing = new HashSet<>(committedBefore);
+        ascending.forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            violations.add(direction + " walk: " + missing.size() + " committed rows skipped, e.g. " + sample(missing));
+        }
+    }
+
+    private long create(int i) {
+        return customerService.saveCustomer(new CustomerRequestDTO(
+                "Stress" + i, "Writer", LocalDate.of(1970, 1, 1).plusDays(i % 20_000))).id();
+    }
+
+    private static List<Long> ids(CustomerPageResponse page) {
+        return page.items().stream().map(CustomerResponseDTO::id).toList();
+    }
+
+    private static List<Long> sample(Collection<Long> ids) {
+        return ids.stream().sorted().limit(5).toList();
+    }
+
+    private static void report(int writers, double writesPerSecond, long walks, List<Long> latencies, double seconds) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%8d %10.0f %8d %10.0f %8.2f %8.2f %8.2f %8.2f%n",
+                writers, writesPerSecond, walks, sorted.length / seconds,
+                millis(sorted, 50), millis(sorted, 95), millis(sorted, 99), millis(sorted, 100));
+    }
+
+    private static double millis(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * percentile / 100.0) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
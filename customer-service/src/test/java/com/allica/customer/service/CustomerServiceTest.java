@@ -1,27 +1,47 @@
 package com.allica.customer.service;
 
+import com.allica.customer.durability.CustomerChangeLog;
+import com.allica.customer.dto.CustomerField;
 import com.allica.customer.dto.CustomerRequestDTO;
 import com.allica.customer.dto.CustomerResponseDTO;
 import com.allica.customer.dto.PageInfo;
 import com.allica.customer.dto.CustomerPageResponse;
+import com.allica.customer.entity.ArchivedCustomer;
 import com.allica.customer.entity.Customer;
+import com.allica.customer.exception.CustomerDataRestoringException;
 import com.allica.customer.mapper.CustomerMapper;
+import com.allica.customer.replica.ReadYourWritesTracker;
+import com.allica.customer.repository.ArchivedCustomerRepository;
 import com.allica.customer.repository.CustomerRepository;
+import com.allica.customer.sharding.CustomerShardRouter;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,9 +50,33 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository repository;
 
+    @Mock
+    private ArchivedCustomerRepository archivedRepository;
+
     @Mock
     private CustomerMapper customerMapper;
 
+    @Mock
+    private CustomerDemographicsService demographicsService;
+
+    @Spy
+    private CustomerShardRouter shardRouter = CustomerShardRouter.singleShard();
+
+    @Mock
+    private CustomerPagePrefetcher pagePrefetcher;
+
+    @Mock
+    private CustomerAuditService auditService;
+
+    @Mock
+    private CustomerChangeLog changeLog;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(5));
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -71,6 +115,9 @@ class CustomerServiceTest {
         verify(repository, times(1)).save(any(Customer.class));
         verify(customerMapper, times(1)).toEntity(any());
         verify(customerMapper, times(1)).toDto(any());
+        verify(demographicsService, times(1)).recordCreated(entity);
+        verify(auditService, times(1)).recordCreated(entity);
+        verify(changeLog, times(1)).recordSaved(entity);
     }
 
     @Test
@@ -134,6 +181,83 @@ class CustomerServiceTest {
         verify(repository, times(1)).findAllByOrderByIdAsc(PageRequest.of(0, 21));
     }
 
+    @Test
+    @DisplayName("Should query only the selected columns when fields are requested")
+    void getAllCustomers_SparseFieldset() {
+        Set<CustomerField> fields = EnumSet.of(CustomerField.ID, CustomerField.FIRST_NAME);
+        Tuple row = mock(Tuple.class);
+        when(row.get("id", Long.class)).thenReturn(7L);
+        when(repository.findProjectedPage(null, null, 21, fields)).thenReturn(List.of(row));
+        when(customerMapper.toDto(row, fields)).thenReturn(
+                new CustomerResponseDTO(7L, "John", null, null, null, null));
+
+        CustomerPageResponse result = customerService.getAllCustomers(null, null, 20, false, fields, false);
+
+        assertEquals(1, result.items().size());
+        assertEquals("John", result.items().get(0).firstName());
+        assertEquals(7L, result.pageInfo().nextCursor());
+        assertFalse(result.pageInfo().hasNext());
+        verify(repository, never()).findAllByOrderByIdAsc(any());
+    }
+
+    @Test
+    @DisplayName("Should serve a prefetched next page without querying the DB")
+    void getAllCustomers_PrefetchHit() {
+        CustomerPageResponse prefetched = new CustomerPageResponse(
+                List.of(new CustomerResponseDTO(11L, "Jane", "Smith", LocalDate.of(1992, 2, 2), null, null)),
+                new PageInfo(11L, 11L, 20, false, null));
+        when(pagePrefetcher.take(10L, 20)).thenReturn(Optional.of(prefetched));
+
+        CustomerPageResponse result = customerService.getAllCustomers(10L, null, 20, false);
+
+        assertSame(prefetched, result);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should prefetch the next page and invalidate it on write")
+    void getAllCustomers_PrefetchesNextPage() {
+        Customer customer1 = new Customer(1L, "John", "Doe", LocalDate.of(1990, 1, 1),
+                LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(2024, 1, 1, 10, 0));
+        Customer customer2 = new Customer(2L, "Jane", "Smith", LocalDate.of(1992, 2, 2),
+                LocalDateTime.of(2024, 1, 2, 10, 0), LocalDateTime.of(2024, 1, 2, 10, 0));
+        when(repository.findAllByOrderByIdAsc(PageRequest.of(0, 2))).thenReturn(Arrays.asList(customer1, customer2));
+
+        CustomerPageResponse result = customerService.getAllCustomers(null, null, 1, false);
+
+        assertTrue(result.pageInfo().hasNext());
+        verify(pagePrefetcher).prefetch(eq(1L), eq(1), any());
+
+        when(customerMapper.toEntity(any())).thenReturn(new Customer());
+        when(repository.save(any())).thenReturn(customer2);
+        customerService.saveCustomer(new CustomerRequestDTO("Jane", "Smith", LocalDate.of(1992, 2, 2)));
+        verify(pagePrefetcher).invalidateFrom(2L);
+    }
+
+    @Test
+    @DisplayName("Should bypass the prefetch cache when the client pages right after its own write")
+    void getAllCustomers_StickyClientBypassesPrefetch() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ReadYourWritesTracker.CLIENT_ID_HEADER, "client-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            // What the replica routing records when the client's write reaches the primary
+            readYourWrites.recordWrite();
+            Customer customer = new Customer(11L, "Jane", "Smith", LocalDate.of(1992, 2, 2),
+                    LocalDateTime.of(2024, 1, 2, 10, 0), LocalDateTime.of(2024, 1, 2, 10, 0));
+            when(repository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 2)))
+                    .thenReturn(Arrays.asList(customer, customer));
+
+            CustomerPageResponse result = customerService.getAllCustomers(10L, null, 1, false);
+
+            assertTrue(result.pageInfo().hasNext());
+            verify(pagePrefetcher, never()).take(any(), anyInt());
+            verify(pagePrefetcher, never()).prefetch(any(), anyInt(), any());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     @Test
     @DisplayName(" Should handle null DTO gracefully")
     void saveCustomer_NullDto() {
@@ -145,6 +269,18 @@ class CustomerServiceTest {
         verify(repository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Should refuse writes while a snapshot restore is running")
+    void saveCustomer_RefusedWhileRestoring() {
+        when(changeLog.awaitingRestore()).thenReturn(true);
+
+        assertThrows(CustomerDataRestoringException.class,
+                () -> customerService.saveCustomer(new CustomerRequestDTO("Jane", "Doe", LocalDate.of(1995, 5, 5))));
+
+        verify(repository, never()).save(any());
+        verify(changeLog, never()).recordSaved(any());
+    }
+
     @Test
     @DisplayName("Should propagate Persistence Exceptions")
     void saveCustomer_DatabaseDown() {
@@ -160,6 +296,8 @@ class CustomerServiceTest {
                 () -> customerService.saveCustomer(dto));
 
         assertEquals("Database Connection Timeout", exception.getMessage());
+        verify(auditService, never()).recordCreated(any());
+        verify(changeLog, never()).recordSaved(any());
     }
 
     @Test
@@ -238,4 +376,53 @@ class CustomerServiceTest {
         assertThrows(com.allica.customer.exception.CustomerNotFoundException.class,
                 () -> customerService.getCustomerById(99L));
     }
+
+    @Test
+    @DisplayName("Should fall back to the archive when the customer is not in the hot tier")
+    void getCustomerById_ArchiveFallback() {
+        ArchivedCustomer archived = new ArchivedCustomer(
+                42L,
+                "Old",
+                "Timer",
+                LocalDate.of(1950, 1, 1),
+                LocalDateTime.of(2020, 1, 1, 10, 0),
+                LocalDateTime.of(2020, 1, 1, 10, 0),
+                LocalDateTime.of(2024, 1, 1, 10, 0)
+        );
+        CustomerResponseDTO dto = new CustomerResponseDTO(42L, "Old", "Timer", LocalDate.of(1950, 1, 1),
+                LocalDateTime.of(2020, 1, 1, 10, 0), LocalDateTime.of(2020, 1, 1, 10, 0));
+        when(repository.findById(42L)).thenReturn(Optional.empty());
+        when(archivedRepository.findById(42L)).thenReturn(Optional.of(archived));
+        when(customerMapper.fromArchive(archived)).thenReturn(dto);
+        when(customerMapper.restrict(dto, null)).thenReturn(dto);
+
+        CustomerResponseDTO result = customerService.getCustomerById(42L);
+
+        assertEquals("Old", result.firstName());
+    }
+
+    @Test
+    @DisplayName("Should merge hot and archived customers in id order when requested")
+    void getAllCustomers_IncludeArchived() {
+        Customer hot = new Customer(2L, "Hot", "One", LocalDate.of(1990, 1, 1),
+                LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(2024, 1, 1, 10, 0));
+        ArchivedCustomer cold = new ArchivedCustomer(1L, "Cold", "One", LocalDate.of(1950, 1, 1),
+                LocalDateTime.of(2020, 1, 1, 10, 0), LocalDateTime.of(2020, 1, 1, 10, 0),
+                LocalDateTime.of(2024, 1, 1, 10, 0));
+        CustomerResponseDTO hotDto = new CustomerResponseDTO(2L, "Hot", "One", null, null, null);
+        CustomerResponseDTO coldDto = new CustomerResponseDTO(1L, "Cold", "One", null, null, null);
+        when(repository.findAllByOrderByIdAsc(PageRequest.of(0, 21))).thenReturn(List.of(hot));
+        when(archivedRepository.findAllByOrderByIdAsc(PageRequest.of(0, 21))).thenReturn(List.of(cold));
+        when(customerMapper.toDto(hot)).thenReturn(hotDto);
+        when(customerMapper.fromArchive(cold)).thenReturn(coldDto);
+        when(customerMapper.restrict(coldDto, null)).thenReturn(coldDto);
+        when(repository.count()).thenReturn(1L);
+        when(archivedRepository.count()).thenReturn(1L);
+
+        CustomerPageResponse result = customerService.getAllCustomers(null, null, 20, true, null, true);
+
+        assertEquals(List.of(1L, 2L), result.items().stream().map(CustomerResponseDTO::id).toList());
+        assertEquals(2L, result.pageInfo().totalCount());
+        verifyNoInteractions(pagePrefetcher);
+    }
 }
@@ -0,0 +1,8 @@
+package com.allica.customer.service;
+
+import org.springframework.test.context.ActiveProfiles;
+
+// Same suite over the sharded profile, where every page is a k-way merge of per-shard pages
+@ActiveProfiles("sharded")
+class ShardedCustomerPaginationStressTest extends CustomerPaginationStressTest {
+}
@@ -0,0 +1,63 @@
+package com.allica.customer.sharding;
+
+import com.allica.customer.dto.CustomerPageResponse;
+import com.allica.customer.dto.CustomerRequestDTO;
+import com.allica.customer.dto.CustomerResponseDTO;
+import com.allica.customer.service.CustomerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("sharded")
+class ShardedCustomerServiceIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerShardRouter shardRouter;
+
+    @Test
+    @DisplayName("Sharded: customers spread across shards and paginate in global id order")
+    void scatterGatherPagination() {
+        List<Long> created = new ArrayList<>();
+        Set<Integer> shardsUsed = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+            CustomerResponseDTO saved = customerService.saveCustomer(
+                    new CustomerRequestDTO("First" + i, "Last" + i, LocalDate.of(1990, 1, 1).plusDays(i)));
+            created.add(saved.id());
+            shardsUsed.add(shardRouter.shardFor(saved.id()));
+            assertEquals(saved.firstName(), customerService.getCustomerById(saved.id()).firstName());
+        }
+        assertEquals(shardRouter.shardCount(), shardsUsed.size());
+
+        List<Long> forward = new ArrayList<>();
+        CustomerPageResponse page = customerService.getAllCustomers(null, null, 7, true);
+        forward.addAll(ids(page));
+        while (page.pageInfo().hasNext()) {
+            page = customerService.getAllCustomers(page.pageInfo().nextCursor(), null, 7, false);
+            forward.addAll(ids(page));
+        }
+        assertTrue(forward.containsAll(created));
+        assertEquals(forward.stream().sorted().toList(), forward);
+
+        CustomerPageResponse previous = customerService.getAllCustomers(null, page.pageInfo().prevCursor(), 7, false);
+        assertEquals(7, previous.items().size());
+        assertTrue(previous.pageInfo().hasNext());
+        assertEquals(page.pageInfo().prevCursor(), forward.get(forward.indexOf(previous.pageInfo().nextCursor()) + 1));
+    }
+
+    private static List<Long> ids(CustomerPageResponse page) {
+        return page.items().stream().map(CustomerResponseDTO::id).toList();
+    }
+}
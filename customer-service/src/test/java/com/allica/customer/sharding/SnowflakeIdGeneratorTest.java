@@ -0,0 +1,46 @@
+package com.allica.customer.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    @DisplayName("Snowflake: ids should be unique, increasing per shard and JavaScript-safe")
+    void nextId_UniqueAndOrdered() {
+        Set<Long> seen = new HashSet<>();
+        long[] previous = new long[3];
+        for (int i = 0; i < 10_000; i++) {
+            int shard = i % 3;
+            long id = SnowflakeIdGenerator.nextId(shard);
+            assertTrue(seen.add(id), "Duplicate id generated");
+            assertTrue(id > previous[shard], "Ids should be strictly increasing within a shard");
+            assertTrue(id < (1L << 53), "Id must fit in a JavaScript number");
+            previous[shard] = id;
+        }
+    }
+
+    @Test
+    @DisplayName("Snowflake: exhausting the sequence waits for the clock instead of running ahead of it")
+    void nextId_NeverAheadOfWallClock() {
+        long last = 0;
+        for (int i = 0; i < 5_000; i++) {
+            last = SnowflakeIdGenerator.nextId(0);
+        }
+
+        assertTrue(SnowflakeIdGenerator.millisOf(last) <= System.currentTimeMillis(),
+                "Id timestamp must not be later than the wall clock");
+    }
+
+    @Test
+    @DisplayName("Snowflake: owning shard should be readable from the id")
+    void shardOf_ReturnsEncodedShard() {
+        for (int shard = 0; shard < SnowflakeIdGenerator.MAX_SHARDS; shard++) {
+            assertEquals(shard, SnowflakeIdGenerator.shardOf(SnowflakeIdGenerator.nextId(shard)));
+        }
+    }
+}
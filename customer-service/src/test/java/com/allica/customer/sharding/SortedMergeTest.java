@@ -0,0 +1,31 @@
+package com.allica.customer.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedMergeTest {
+
+    @Test
+    @DisplayName("Merge: should interleave sorted shard pages and stop at the limit")
+    void merge_KWay() {
+        List<List<Long>> shardPages = List.of(List.of(1L, 4L, 7L), List.of(2L, 5L), List.of(), List.of(3L, 6L));
+
+        List<Long> merged = SortedMerge.merge(shardPages, Comparator.naturalOrder(), 5);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), merged);
+    }
+
+    @Test
+    @DisplayName("Merge: should honour a descending comparator for backward pages")
+    void merge_Descending() {
+        List<List<Long>> shardPages = List.of(List.of(9L, 3L), List.of(8L, 2L, 1L));
+
+        List<Long> merged = SortedMerge.merge(shardPages, Comparator.<Long>naturalOrder().reversed(), 10);
+
+        assertEquals(List.of(9L, 8L, 3L, 2L, 1L), merged);
+    }
+}